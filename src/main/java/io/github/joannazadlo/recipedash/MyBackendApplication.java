@@ -2,8 +2,10 @@ package io.github.joannazadlo.recipedash;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MyBackendApplication {
 
     public static void main(String[] args) {
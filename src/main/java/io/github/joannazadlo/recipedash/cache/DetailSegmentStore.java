@@ -0,0 +1,283 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+// Append-only segment file of key/value records with an in-memory index of the latest record per
+// key. Overwrites, removals and evictions only append; compact() rewrites the live records into a
+// fresh segment once enough of the file is garbage. A torn record at the end of the file, left by a
+// crash mid-write, is cut off when the segment is opened.
+//
+// Record layout: magic (4), crc32 (4), storedAt epoch millis (8), key length (4),
+// value length (4, -1 for a removal), key bytes, value bytes. The crc covers everything after it.
+@Slf4j
+public class DetailSegmentStore implements Closeable {
+
+    private static final int MAGIC = 0x52444331;
+    private static final int HEADER_SIZE = 24;
+    private static final int REMOVED = -1;
+
+    private final Path path;
+    private final int maxEntries;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Insertion ordered, and a written key is moved to the end, so the first entry is the oldest.
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    public DetailSegmentStore(Path path, int maxEntries) throws IOException {
+        this.path = path;
+        this.maxEntries = maxEntries;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+    }
+
+    public StoredValue get(String key) throws IOException {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            ByteBuffer value = ByteBuffer.allocate(entry.valueLength());
+            readFully(channel, value, entry.offset() + HEADER_SIZE + entry.keyLength());
+            return new StoredValue(value.array(), Instant.ofEpochMilli(entry.storedAtMillis()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Instant storedAt(String key) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            return entry == null ? null : Instant.ofEpochMilli(entry.storedAtMillis());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String key, byte[] value, Instant storedAt) throws IOException {
+        lock.writeLock().lock();
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            long offset = append(keyBytes, value, storedAt.toEpochMilli());
+            forget(index.remove(key));
+            Entry entry = new Entry(offset, keyBytes.length, value.length, storedAt.toEpochMilli());
+            index.put(key, entry);
+            liveBytes += entry.recordSize();
+
+            Iterator<Map.Entry<String, Entry>> oldest = index.entrySet().iterator();
+            while (index.size() > maxEntries && oldest.hasNext()) {
+                Map.Entry<String, Entry> evicted = oldest.next();
+                append(evicted.getKey().getBytes(StandardCharsets.UTF_8), null, storedAt.toEpochMilli());
+                forget(evicted.getValue());
+                oldest.remove();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) throws IOException {
+        lock.writeLock().lock();
+        try {
+            Entry entry = index.remove(key);
+            if (entry != null) {
+                append(key.getBytes(StandardCharsets.UTF_8), null, System.currentTimeMillis());
+                forget(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean needsCompaction(double garbageRatio, long minSize) {
+        lock.readLock().lock();
+        try {
+            return size >= minSize && size - liveBytes > garbageRatio * size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copies the live records into a temporary segment and renames it over the current one. Lookups
+    // wait while this runs; with records of a few kilobytes a rewrite takes milliseconds.
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            long before = size;
+            Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            LinkedHashMap<String, Entry> compacted = new LinkedHashMap<>();
+            long position = 0;
+            try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                for (Map.Entry<String, Entry> live : index.entrySet()) {
+                    Entry entry = live.getValue();
+                    long copied = 0;
+                    while (copied < entry.recordSize()) {
+                        copied += channel.transferTo(entry.offset() + copied, entry.recordSize() - copied, target);
+                    }
+                    compacted.put(live.getKey(), new Entry(position, entry.keyLength(), entry.valueLength(), entry.storedAtMillis()));
+                    position += entry.recordSize();
+                }
+                target.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            index.clear();
+            index.putAll(compacted);
+            size = position;
+            liveBytes = position;
+            log.info("Compacted detail cache segment {} from {} to {} bytes", path, before, size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int entryCount() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeBytes() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(byte[] key, byte[] value, long storedAtMillis) throws IOException {
+        int valueLength = value == null ? REMOVED : value.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + Math.max(valueLength, 0));
+        record.putInt(MAGIC)
+                .putInt(0)
+                .putLong(storedAtMillis)
+                .putInt(key.length)
+                .putInt(valueLength)
+                .put(key);
+        if (value != null) {
+            record.put(value);
+        }
+        record.putInt(4, checksum(record.array()));
+        record.flip();
+
+        long offset = size;
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        size = position;
+        return offset;
+    }
+
+    private void forget(Entry entry) {
+        if (entry != null) {
+            liveBytes -= entry.recordSize();
+        }
+    }
+
+    // Replays the segment into the index, stopping at the first record that is incomplete or fails
+    // its checksum and truncating the file there.
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while (position + HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int magic = header.getInt();
+            int crc = header.getInt();
+            long storedAtMillis = header.getLong();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            long recordSize = HEADER_SIZE + (long) keyLength + Math.max(valueLength, 0);
+            if (magic != MAGIC || keyLength < 0 || valueLength < REMOVED || position + recordSize > fileSize) {
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.allocate((int) recordSize);
+            readFully(channel, record, position);
+            if (checksum(record.array()) != crc) {
+                break;
+            }
+
+            String key = new String(record.array(), HEADER_SIZE, keyLength, StandardCharsets.UTF_8);
+            forget(index.remove(key));
+            if (valueLength != REMOVED) {
+                Entry entry = new Entry(position, keyLength, valueLength, storedAtMillis);
+                index.put(key, entry);
+                liveBytes += entry.recordSize();
+            }
+            position += recordSize;
+        }
+
+        if (position < fileSize) {
+            log.warn("Detail cache segment {} has a damaged tail, dropping {} bytes", path, fileSize - position);
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, record.length - 8);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of detail cache segment");
+            }
+            position += read;
+        }
+    }
+
+    public record StoredValue(byte[] value, Instant storedAt) {
+    }
+
+    private record Entry(long offset, int keyLength, int valueLength, long storedAtMillis) {
+        long recordSize() {
+            return HEADER_SIZE + keyLength + valueLength;
+        }
+    }
+}
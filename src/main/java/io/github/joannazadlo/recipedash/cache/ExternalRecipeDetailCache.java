@@ -0,0 +1,279 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.config.properties.DetailCacheProperties;
+import io.github.joannazadlo.recipedash.exception.BaseException;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Keeps MealDB and Tasty recipe details in a segment file on local disk, so they survive restarts
+// and a redeployed node serves detail pages without calling the upstream. Entries younger than ttl
+// are served as they are; older ones are served while a background load revalidates them, and
+// entries older than expire-after are loaded again before answering. Without a directory the cache
+// is off locally. Details are also kept in the shared cache tier, which is asked before the
+// upstream, so a recipe another node has loaded within ttl is not fetched again.
+@Slf4j
+@Component
+public class ExternalRecipeDetailCache {
+
+    private static final String SEGMENT_FILE = "external-recipe-details.segment";
+    private static final String SHARED_NAMESPACE = "detail";
+
+    private final DetailCacheProperties settings;
+    private final ObjectMapper objectMapper;
+    private final SharedCacheTier sharedTier;
+    private final Executor detailCacheExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private volatile DetailSegmentStore store;
+
+    public ExternalRecipeDetailCache(
+            DetailCacheProperties settings,
+            ObjectMapper objectMapper,
+            SharedCacheTier sharedTier,
+            @Qualifier("detailCacheExecutor") Executor detailCacheExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.sharedTier = sharedTier;
+        this.detailCacheExecutor = detailCacheExecutor;
+        this.meterRegistry = meterRegistry;
+
+        sharedTier.onInvalidation(SHARED_NAMESPACE, key -> {
+            if (store != null) {
+                remove(key);
+            }
+        });
+    }
+
+    @PostConstruct
+    public void open() {
+        if (settings.getDirectory() == null || settings.getDirectory().isBlank()) {
+            return;
+        }
+
+        Path segment = Path.of(settings.getDirectory()).resolve(SEGMENT_FILE);
+        try {
+            DetailSegmentStore opened = new DetailSegmentStore(segment, settings.getMaxEntries());
+            Gauge.builder("detail.cache.entries", opened, DetailSegmentStore::entryCount).register(meterRegistry);
+            Gauge.builder("detail.cache.segment.bytes", opened, DetailSegmentStore::sizeBytes).register(meterRegistry);
+            store = opened;
+            log.info("Opened recipe detail cache {} with {} entries", segment, opened.entryCount());
+            compactIfNeeded();
+        } catch (IOException e) {
+            log.warn("Could not open recipe detail cache {}, details are not cached", segment, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    // Answered from the in-memory index, without reading the stored details.
+    public boolean isFresh(String source, String id) {
+        if (store == null) {
+            return false;
+        }
+        Instant storedAt = store.storedAt(key(source, id));
+        return storedAt != null && Duration.between(storedAt, Instant.now()).compareTo(settings.getTtl()) < 0;
+    }
+
+    public ExternalRecipeDetailsDto get(String source, String id, Supplier<ExternalRecipeDetailsDto> loader) {
+        String key = key(source, id);
+        Cached cached = store == null ? null : read(key);
+        if (cached != null) {
+            Duration age = Duration.between(cached.storedAt(), Instant.now());
+            if (age.compareTo(settings.getTtl()) < 0) {
+                count(source, "hit");
+                return cached.details();
+            }
+            if (age.compareTo(settings.getExpireAfter()) < 0) {
+                count(source, "stale");
+                revalidate(source, key, loader);
+                return cached.details();
+            }
+        }
+
+        count(source, "miss");
+        return load(source, key, loader);
+    }
+
+    private ExternalRecipeDetailsDto load(String source, String key, Supplier<ExternalRecipeDetailsDto> loader) {
+        Cached shared = readShared(key);
+        if (shared != null) {
+            count(source, "shared");
+            write(key, shared.details(), shared.storedAt());
+            return shared.details();
+        }
+
+        ExternalRecipeDetailsDto details;
+        try {
+            details = loader.get();
+        } catch (BaseException e) {
+            if (e.getErrorStatus() == HttpStatus.NOT_FOUND) {
+                if (store != null) {
+                    remove(key);
+                }
+                sharedTier.delete(SHARED_NAMESPACE, key);
+            }
+            throw e;
+        }
+        Instant loadedAt = Instant.now();
+        write(key, details, loadedAt);
+        writeShared(key, details, loadedAt);
+        return details;
+    }
+
+    // A failed revalidation keeps the stored copy; the next lookup of the entry tries again.
+    private void revalidate(String source, String key, Supplier<ExternalRecipeDetailsDto> loader) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            detailCacheExecutor.execute(() -> {
+                try {
+                    load(source, key, loader);
+                } catch (RuntimeException e) {
+                    log.debug("Could not revalidate cached {} details for {}", source, key, e);
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    private Cached read(String key) {
+        try {
+            DetailSegmentStore.StoredValue stored = store.get(key);
+            if (stored == null) {
+                return null;
+            }
+            return new Cached(objectMapper.readValue(stored.value(), ExternalRecipeDetailsDto.class), stored.storedAt());
+        } catch (IOException e) {
+            log.warn("Could not read cached recipe details for {}", key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, ExternalRecipeDetailsDto details, Instant storedAt) {
+        if (store == null || details == null) {
+            return;
+        }
+        try {
+            store.put(key, objectMapper.writeValueAsBytes(details), storedAt);
+            compactIfNeeded();
+        } catch (IOException e) {
+            log.warn("Could not cache recipe details for {}", key, e);
+        }
+    }
+
+    // The shared copy carries when it was loaded, so a node taking it over ages it from that moment
+    // rather than from when it copied it.
+    private Cached readShared(String key) {
+        byte[] shared = sharedTier.get(SHARED_NAMESPACE, key);
+        if (shared == null || shared.length < Long.BYTES) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(shared);
+            Instant storedAt = Instant.ofEpochMilli(buffer.getLong());
+            ExternalRecipeDetailsDto details = objectMapper.readValue(shared, Long.BYTES, shared.length - Long.BYTES,
+                    ExternalRecipeDetailsDto.class);
+            return new Cached(details, storedAt);
+        } catch (IOException e) {
+            log.warn("Could not read shared recipe details for {}", key, e);
+            return null;
+        }
+    }
+
+    private void writeShared(String key, ExternalRecipeDetailsDto details, Instant storedAt) {
+        if (details == null || !sharedTier.isEnabled()) {
+            return;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(details);
+            byte[] shared = ByteBuffer.allocate(Long.BYTES + json.length)
+                    .putLong(storedAt.toEpochMilli())
+                    .put(json)
+                    .array();
+            sharedTier.put(SHARED_NAMESPACE, key, shared, settings.getTtl());
+        } catch (IOException e) {
+            log.warn("Could not share recipe details for {}", key, e);
+        }
+    }
+
+    private void remove(String key) {
+        try {
+            store.remove(key);
+        } catch (IOException e) {
+            log.warn("Could not drop cached recipe details for {}", key, e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (!store.needsCompaction(settings.getCompactionGarbageRatio(), settings.getCompactionMinSize().toBytes())
+                || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            detailCacheExecutor.execute(() -> {
+                try {
+                    store.compact();
+                } catch (IOException e) {
+                    log.warn("Could not compact recipe detail cache", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            compacting.set(false);
+        }
+    }
+
+    private static String key(String source, String id) {
+        return source + ":" + id;
+    }
+
+    private void count(String source, String outcome) {
+        Counter.builder("detail.cache")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Cached(ExternalRecipeDetailsDto details, Instant storedAt) {
+    }
+}
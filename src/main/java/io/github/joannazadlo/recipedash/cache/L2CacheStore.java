@@ -0,0 +1,19 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// A key/value store shared by every application node, with a broadcast channel for invalidations.
+public interface L2CacheStore {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    void publish(String message);
+
+    // Every published message is delivered to every subscriber, including the publishing node's.
+    void subscribe(Consumer<String> listener);
+}
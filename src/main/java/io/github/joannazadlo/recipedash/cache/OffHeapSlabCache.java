@@ -0,0 +1,212 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// Keeps values as encoded bytes in direct ByteBuffer slabs outside the Java heap; the heap only
+// holds the keys and a small index entry per key, so the garbage collector never walks the cached
+// values. Slabs are filled one after another like a ring and allocated on first use. Once the byte
+// budget is taken, the oldest slab is reused and every entry still in it is dropped, so eviction
+// follows the encoded size of the entries rather than their count. Values are decoded on every
+// read, so each caller gets its own copy. A value larger than a slab is not cached.
+public class OffHeapSlabCache<K, V> {
+
+    private final PayloadCodec<V> codec;
+    private final int slabSize;
+    private final long ttlNanos;
+    private final ByteBuffer[] slabs;
+    // The keys written to each slab during its current lap, to drop their entries when it is reused.
+    private final List<List<K>> slabKeys;
+    private final Map<K, Location> index = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter rejections;
+
+    private int currentSlab;
+    private int position;
+    private long liveBytes;
+
+    public OffHeapSlabCache(String name, PayloadCodec<V> codec, long budgetBytes, int slabSize, Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.slabSize = slabSize;
+        this.ttlNanos = ttl.toNanos();
+        int slabCount = (int) Math.max(2, budgetBytes / slabSize);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabKeys = new ArrayList<>(slabCount);
+        for (int i = 0; i < slabCount; i++) {
+            slabKeys.add(new ArrayList<>());
+        }
+
+        this.hits = counter(name, "hit", meterRegistry);
+        this.misses = counter(name, "miss", meterRegistry);
+        this.evictions = counter(name, "evicted", meterRegistry);
+        this.rejections = counter(name, "rejected", meterRegistry);
+        Gauge.builder("offheap.cache.entries", this, OffHeapSlabCache::size).tag("name", name).register(meterRegistry);
+        Gauge.builder("offheap.cache.live.bytes", this, OffHeapSlabCache::liveBytes).tag("name", name).register(meterRegistry);
+        Gauge.builder("offheap.cache.allocated.bytes", this, OffHeapSlabCache::allocatedBytes).tag("name", name).register(meterRegistry);
+    }
+
+    public V get(K key) {
+        byte[] bytes;
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.isExpired(System.nanoTime())) {
+                misses.increment();
+                return null;
+            }
+            bytes = new byte[location.length()];
+            slabs[location.slab()].get(location.offset(), bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.increment();
+        return codec.decode(bytes);
+    }
+
+    public boolean containsKey(K key) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location != null && !location.isExpired(System.nanoTime());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // True when the key is missing or will have expired once the window has passed.
+    public boolean expiresWithin(K key, Duration window) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location == null || location.isExpired(System.nanoTime() + window.toNanos());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        byte[] bytes = codec.encode(value);
+        if (bytes.length > slabSize) {
+            rejections.increment();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (position + bytes.length > slabSize || slabs[currentSlab] == null) {
+                if (slabs[currentSlab] != null) {
+                    advance();
+                }
+                if (slabs[currentSlab] == null) {
+                    slabs[currentSlab] = ByteBuffer.allocateDirect(slabSize);
+                }
+            }
+            slabs[currentSlab].put(position, bytes);
+            forget(index.put(key, new Location(currentSlab, position, bytes.length, System.nanoTime() + ttlNanos)));
+            slabKeys.get(currentSlab).add(key);
+            position += bytes.length;
+            liveBytes += bytes.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeIf(Predicate<K> predicate) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<K, Location>> entries = index.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<K, Location> entry = entries.next();
+                if (predicate.test(entry.getKey())) {
+                    forget(entry.getValue());
+                    entries.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long liveBytes() {
+        lock.readLock().lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer slab : slabs) {
+                allocated += slab == null ? 0 : slab.capacity();
+            }
+            return allocated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Moves on to the next slab and drops the entries it still holds from its previous lap. Keys
+    // written again since then point at a newer slab and stay.
+    private void advance() {
+        currentSlab = (currentSlab + 1) % slabs.length;
+        position = 0;
+        List<K> keys = slabKeys.get(currentSlab);
+        for (K key : keys) {
+            Location location = index.get(key);
+            if (location != null && location.slab() == currentSlab) {
+                index.remove(key);
+                forget(location);
+                evictions.increment();
+            }
+        }
+        keys.clear();
+    }
+
+    private void forget(Location location) {
+        if (location != null) {
+            liveBytes -= location.length();
+        }
+    }
+
+    private static Counter counter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("offheap.cache")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Location(int slab, int offset, int length, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.joannazadlo.recipedash.cache;
+
+// Turns cached values into bytes and back for caches that keep them outside the heap.
+public interface PayloadCodec<V> {
+
+    byte[] encode(V value);
+
+    V decode(byte[] bytes);
+}
@@ -0,0 +1,59 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// The shared tier on a Redis server: values are plain keys with an expiry, and invalidations go
+// through a pub/sub channel the listener container keeps subscribed.
+public class RedisL2CacheStore implements L2CacheStore {
+
+    private final RedisTemplate<String, byte[]> values;
+    private final StringRedisTemplate messages;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic channel;
+
+    public RedisL2CacheStore(
+            RedisTemplate<String, byte[]> values,
+            StringRedisTemplate messages,
+            RedisMessageListenerContainer listenerContainer,
+            String channel
+    ) {
+        this.values = values;
+        this.messages = messages;
+        this.listenerContainer = listenerContainer;
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return values.opsForValue().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        values.delete(key);
+    }
+
+    @Override
+    public void publish(String message) {
+        messages.convertAndSend(channel.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                channel);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary form of a list of search results: the recipe count, then id, title, image source and
+// source of each recipe as length-prefixed UTF-8, with a length of -1 for null. About a third of
+// the size of the same list as JSON, as no field names are written.
+public class SearchRecipeListCodec implements PayloadCodec<List<SearchRecipeDto>> {
+
+    private static final int NULL = -1;
+
+    @Override
+    public byte[] encode(List<SearchRecipeDto> recipes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * recipes.size() + 4);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(recipes.size());
+            for (SearchRecipeDto recipe : recipes) {
+                writeString(out, recipe.getId());
+                writeString(out, recipe.getTitle());
+                writeString(out, recipe.getImageSource());
+                writeString(out, recipe.getSource());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public List<SearchRecipeDto> decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int size = in.readInt();
+            List<SearchRecipeDto> recipes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                recipes.add(new SearchRecipeDto(readString(in), readString(in), readString(in), readString(in)));
+            }
+            return List.copyOf(recipes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// The cache tier shared by all application nodes, behind the caches each node keeps itself. A node
+// that misses locally asks here before calling the upstream and stores what it loads here, so an
+// upstream result is fetched once for the deployment rather than once per node. Invalidations are
+// broadcast so the other nodes drop their local copies too. The shared store only saves upstream
+// calls and is never needed to answer: without one every lookup misses, and its failures are
+// counted and treated as misses.
+@Slf4j
+@Component
+public class SharedCacheTier {
+
+    private static final String SEPARATOR = "|";
+
+    private final L2CacheStore store;
+    private final String keyPrefix;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> invalidationHandlers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SharedCacheTier(Optional<L2CacheStore> store, L2CacheProperties l2CacheProperties, MeterRegistry meterRegistry) {
+        this.store = store.orElse(null);
+        this.keyPrefix = l2CacheProperties.getKeyPrefix();
+        this.meterRegistry = meterRegistry;
+        if (this.store != null) {
+            this.store.subscribe(this::dispatch);
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    public byte[] get(String namespace, String key) {
+        if (store == null) {
+            return null;
+        }
+        try {
+            byte[] value = store.get(keyPrefix + namespace + ":" + key);
+            count(namespace, value == null ? "miss" : "hit");
+            return value;
+        } catch (RuntimeException e) {
+            count(namespace, "error");
+            log.debug("Could not read {} {} from the shared cache", namespace, key, e);
+            return null;
+        }
+    }
+
+    public void put(String namespace, String key, byte[] value, Duration ttl) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(keyPrefix + namespace + ":" + key, value, ttl);
+        } catch (RuntimeException e) {
+            count(namespace, "error");
+            log.debug("Could not write {} {} to the shared cache", namespace, key, e);
+        }
+    }
+
+    // Removes the shared copy and tells the other nodes to drop theirs.
+    public void delete(String namespace, String key) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.delete(keyPrefix + namespace + ":" + key);
+        } catch (RuntimeException e) {
+            count(namespace, "error");
+            log.debug("Could not delete {} {} from the shared cache", namespace, key, e);
+        }
+        broadcastInvalidation(namespace, key);
+    }
+
+    // Hands message to the invalidation handler of namespace on every other node.
+    public void broadcastInvalidation(String namespace, String message) {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.publish(nodeId + SEPARATOR + namespace + SEPARATOR + message);
+        } catch (RuntimeException e) {
+            count(namespace, "error");
+            log.warn("Could not broadcast invalidation of {} {}", namespace, message, e);
+        }
+    }
+
+    public void onInvalidation(String namespace, Consumer<String> handler) {
+        invalidationHandlers.put(namespace, handler);
+    }
+
+    private void dispatch(String broadcast) {
+        String[] parts = broadcast.split("\\|", 3);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Consumer<String> handler = invalidationHandlers.get(parts[1]);
+        if (handler != null) {
+            count(parts[1], "invalidated");
+            handler.accept(parts[2]);
+        }
+    }
+
+    private void count(String namespace, String outcome) {
+        Counter.builder("l2.cache")
+                .tag("name", namespace)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class MealDbCatalog {
+
+    private final AtomicReference<MealDbCatalogIndex> index = new AtomicReference<>(MealDbCatalogIndex.EMPTY);
+
+    public MealDbCatalog(MeterRegistry meterRegistry) {
+        Gauge.builder("mealdb.catalog.meals", index, current -> current.get().mealCount())
+                .register(meterRegistry);
+    }
+
+    public MealDbCatalogIndex current() {
+        return index.get();
+    }
+
+    public void replace(MealDbCatalogIndex newIndex) {
+        index.set(newIndex);
+    }
+
+    public boolean replaceIfNewer(MealDbCatalogIndex candidate) {
+        MealDbCatalogIndex previous = index.getAndUpdate(current -> isNewer(candidate, current) ? candidate : current);
+        return isNewer(candidate, previous);
+    }
+
+    public Optional<Set<MealDbSummary>> search(List<MealDbFilterTerm> terms) {
+        return index.get().search(terms);
+    }
+
+    private static boolean isNewer(MealDbCatalogIndex candidate, MealDbCatalogIndex current) {
+        return current.isEmpty() || candidate.getSyncedAt().isAfter(current.getSyncedAt());
+    }
+}
@@ -0,0 +1,365 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.github.joannazadlo.recipedash.utils.MealDbUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+// Immutable inverted index over the MealDB filter lists: every ingredient, area and category
+// maps to the sorted ids of its meals. The index is a read-only view over the binary snapshot
+// format below, backed by a direct or memory-mapped buffer, so none of it lives on the heap.
+//
+// Layout (big-endian):
+//   header   magic, format version, syncedAt millis, CRC32 of everything after the header,
+//            meal count, term count per filter type, postings offset, strings offset, length
+//   meals    sorted by id: id, name ref, thumb ref
+//   terms    per filter type, sorted by key: key ref, name ref, posting start, posting length,
+//            syncedAt millis (posting start is -1 while the filter list has not been synced)
+//   postings sorted meal ids
+//   strings  length-prefixed UTF-8, referenced relative to the strings offset
+public final class MealDbCatalogIndex {
+
+    public static final MealDbCatalogIndex EMPTY = new MealDbCatalogIndex(null);
+
+    static final int MAGIC = 0x4D444243;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    private static final int MEAL_ENTRY_SIZE = 12;
+    private static final int TERM_ENTRY_SIZE = 24;
+    private static final int NO_STRING = -1;
+
+    private static final int SYNCED_AT_POSITION = 8;
+    private static final int CHECKSUM_POSITION = 16;
+    private static final int MEAL_COUNT_POSITION = 20;
+    private static final int TERM_COUNTS_POSITION = 24;
+    private static final int POSTINGS_OFFSET_POSITION = 36;
+    private static final int STRINGS_OFFSET_POSITION = 40;
+    private static final int LENGTH_POSITION = 44;
+
+    private final ByteBuffer buffer;
+
+    private MealDbCatalogIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Validates the header and checksum; the buffer is used as is, without copying.
+    public static MealDbCatalogIndex wrap(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a MealDB catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported MealDB catalog snapshot version " + buffer.getInt(4));
+        }
+        if (buffer.getInt(LENGTH_POSITION) != buffer.capacity()) {
+            throw new IllegalStateException("Truncated MealDB catalog snapshot");
+        }
+        if (buffer.getInt(CHECKSUM_POSITION) != checksum(buffer)) {
+            throw new IllegalStateException("MealDB catalog snapshot checksum mismatch");
+        }
+        return new MealDbCatalogIndex(buffer);
+    }
+
+    public static Instant readSyncedAt(ByteBuffer header) {
+        return Instant.ofEpochMilli(header.getLong(SYNCED_AT_POSITION));
+    }
+
+    public static String key(MealDbFilterType type, String value) {
+        return type == MealDbFilterType.INGREDIENT
+                ? MealDbUtils.normalizeIngredientName(value)
+                : MealDbUtils.normalizeFilterValue(value);
+    }
+
+    public boolean isEmpty() {
+        return buffer == null;
+    }
+
+    public Instant getSyncedAt() {
+        return isEmpty() ? null : readSyncedAt(buffer);
+    }
+
+    // Read-only view for writing the snapshot to disk.
+    public ByteBuffer toBuffer() {
+        return buffer.asReadOnlyBuffer().clear();
+    }
+
+    public int mealCount() {
+        return isEmpty() ? 0 : buffer.getInt(MEAL_COUNT_POSITION);
+    }
+
+    public Posting getPosting(MealDbFilterType type, String key) {
+        int entry = findTerm(type, key);
+        if (entry < 0 || buffer.getInt(entry + 8) < 0) {
+            return null;
+        }
+        return new Posting(readIds(entry), Instant.ofEpochMilli(buffer.getLong(entry + 16)));
+    }
+
+    public MealDbSummary getMeal(int id) {
+        if (isEmpty()) {
+            return null;
+        }
+
+        int low = 0;
+        int high = mealCount() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = HEADER_SIZE + middle * MEAL_ENTRY_SIZE;
+            int middleId = buffer.getInt(entry);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return MealDbSummary.builder()
+                        .idMeal(String.valueOf(id))
+                        .strMeal(readString(buffer.getInt(entry + 4)))
+                        .strMealThumb(readString(buffer.getInt(entry + 8)))
+                        .build();
+            }
+        }
+        return null;
+    }
+
+    // Empty when the index cannot answer every term, e.g. before the first sync or when a value
+    // is listed by MealDB but its filter list failed to sync.
+    public Optional<Set<MealDbSummary>> search(List<MealDbFilterTerm> terms) {
+        if (isEmpty() || terms.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<int[]> termIds = new ArrayList<>(terms.size());
+        for (MealDbFilterTerm term : terms) {
+            int[] ids = lookup(term);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            termIds.add(ids);
+        }
+        termIds.sort(Comparator.comparingInt(ids -> ids.length));
+
+        int[] result = termIds.get(0);
+        for (int i = 1; i < termIds.size() && result.length > 0; i++) {
+            result = MealDbUtils.intersectSortedIds(result, termIds.get(i));
+        }
+
+        Set<MealDbSummary> matching = new LinkedHashSet<>();
+        for (int id : result) {
+            matching.add(getMeal(id));
+        }
+        return Optional.of(matching);
+    }
+
+    private int[] lookup(MealDbFilterTerm term) {
+        int[] union = new int[0];
+        for (String value : term.getValues()) {
+            int entry = findTerm(term.getType(), key(term.getType(), value));
+            if (entry < 0) {
+                // MealDB does not know the value, so its filter list is empty
+                continue;
+            }
+            if (buffer.getInt(entry + 8) < 0) {
+                return null;
+            }
+            union = MealDbUtils.unionSortedIds(union, readIds(entry));
+        }
+        return union;
+    }
+
+    private int findTerm(MealDbFilterType type, String key) {
+        if (isEmpty()) {
+            return -1;
+        }
+
+        int tableOffset = HEADER_SIZE + mealCount() * MEAL_ENTRY_SIZE;
+        for (MealDbFilterType previous : MealDbFilterType.values()) {
+            if (previous == type) {
+                break;
+            }
+            tableOffset += termCount(previous) * TERM_ENTRY_SIZE;
+        }
+
+        int low = 0;
+        int high = termCount(type) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = tableOffset + middle * TERM_ENTRY_SIZE;
+            int comparison = readString(buffer.getInt(entry)).compareTo(key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private int termCount(MealDbFilterType type) {
+        return buffer.getInt(TERM_COUNTS_POSITION + type.ordinal() * 4);
+    }
+
+    private int[] readIds(int entry) {
+        int start = buffer.getInt(POSTINGS_OFFSET_POSITION) + buffer.getInt(entry + 8) * 4;
+        int[] ids = new int[buffer.getInt(entry + 12)];
+        buffer.slice(start, ids.length * 4).asIntBuffer().get(ids);
+        return ids;
+    }
+
+    private String readString(int ref) {
+        if (ref == NO_STRING) {
+            return null;
+        }
+        int position = buffer.getInt(STRINGS_OFFSET_POSITION) + ref;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        return (int) crc.getValue();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Posting {
+        private final int[] mealIds;
+        private final Instant syncedAt;
+    }
+
+    public static final class Builder {
+        private final Map<MealDbFilterType, Map<String, String>> names = new EnumMap<>(MealDbFilterType.class);
+        private final Map<MealDbFilterType, Map<String, Posting>> postings = new EnumMap<>(MealDbFilterType.class);
+        private final Map<Integer, MealDbSummary> meals = new TreeMap<>();
+
+        private Builder() {
+            for (MealDbFilterType type : MealDbFilterType.values()) {
+                names.put(type, new TreeMap<>());
+                postings.put(type, new HashMap<>());
+            }
+        }
+
+        public Builder name(MealDbFilterType type, String name) {
+            names.get(type).put(key(type, name), name);
+            return this;
+        }
+
+        public Builder posting(MealDbFilterType type, String name, Collection<MealDbSummary> filterList, Instant syncedAt) {
+            filterList.forEach(meal -> meals.put(Integer.parseInt(meal.getIdMeal()), meal));
+            postings.get(type).put(key(type, name), new Posting(MealDbUtils.toSortedIds(filterList), syncedAt));
+            return this;
+        }
+
+        // Reuses a posting from the previous index without fetching its filter list again.
+        public Builder posting(MealDbFilterType type, String name, Posting posting, MealDbCatalogIndex previous) {
+            for (int id : posting.getMealIds()) {
+                meals.put(id, previous.getMeal(id));
+            }
+            postings.get(type).put(key(type, name), posting);
+            return this;
+        }
+
+        public MealDbCatalogIndex build(Instant syncedAt) {
+            StringPool strings = new StringPool();
+            int termCount = names.values().stream().mapToInt(Map::size).sum();
+            int postingCount = postings.values().stream()
+                    .flatMap(typePostings -> typePostings.values().stream())
+                    .mapToInt(posting -> posting.getMealIds().length)
+                    .sum();
+
+            int postingsOffset = HEADER_SIZE + meals.size() * MEAL_ENTRY_SIZE + termCount * TERM_ENTRY_SIZE;
+            int stringsOffset = postingsOffset + postingCount * 4;
+
+            ByteBuffer tables = ByteBuffer.allocate(stringsOffset);
+            tables.position(HEADER_SIZE);
+            meals.forEach((id, meal) -> tables
+                    .putInt(id)
+                    .putInt(strings.ref(meal.getStrMeal()))
+                    .putInt(strings.ref(meal.getStrMealThumb())));
+
+            int postingStart = 0;
+            List<int[]> postingLists = new ArrayList<>();
+            for (MealDbFilterType type : MealDbFilterType.values()) {
+                tables.putInt(TERM_COUNTS_POSITION + type.ordinal() * 4, names.get(type).size());
+                for (Map.Entry<String, String> name : names.get(type).entrySet()) {
+                    Posting posting = postings.get(type).get(name.getKey());
+                    tables.putInt(strings.ref(name.getKey())).putInt(strings.ref(name.getValue()));
+                    if (posting == null) {
+                        tables.putInt(-1).putInt(0).putLong(0);
+                    } else {
+                        tables.putInt(postingStart).putInt(posting.getMealIds().length)
+                                .putLong(posting.getSyncedAt().toEpochMilli());
+                        postingStart += posting.getMealIds().length;
+                        postingLists.add(posting.getMealIds());
+                    }
+                }
+            }
+            for (int[] ids : postingLists) {
+                for (int id : ids) {
+                    tables.putInt(id);
+                }
+            }
+
+            byte[] stringBytes = strings.toByteArray();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(stringsOffset + stringBytes.length);
+            buffer.put(tables.array()).put(stringBytes);
+            buffer.putInt(0, MAGIC)
+                    .putInt(4, FORMAT_VERSION)
+                    .putLong(SYNCED_AT_POSITION, syncedAt.toEpochMilli())
+                    .putInt(MEAL_COUNT_POSITION, meals.size())
+                    .putInt(POSTINGS_OFFSET_POSITION, postingsOffset)
+                    .putInt(STRINGS_OFFSET_POSITION, stringsOffset)
+                    .putInt(LENGTH_POSITION, buffer.capacity())
+                    .putInt(CHECKSUM_POSITION, checksum(buffer));
+            return new MealDbCatalogIndex(buffer.clear());
+        }
+    }
+
+    private static final class StringPool {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int ref(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            return refs.computeIfAbsent(value, ignored -> {
+                int ref = bytes.size();
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                bytes.writeBytes(ByteBuffer.allocate(4).putInt(encoded.length).array());
+                bytes.writeBytes(encoded);
+                return ref;
+            });
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
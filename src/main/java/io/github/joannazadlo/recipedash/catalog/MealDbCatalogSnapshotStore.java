@@ -0,0 +1,131 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+// Persists the catalog index as a snapshot file and serves it memory-mapped, so a node starts
+// answering from the last snapshot immediately instead of waiting for a full sync. Nodes sharing
+// the file pick up a newer snapshot written by another node on the next poll.
+@Slf4j
+@Component
+public class MealDbCatalogSnapshotStore {
+
+    private final MealDbCatalog catalog;
+    private final MealDbProperties.Catalog settings;
+    private final TaskScheduler catalogScheduler;
+
+    public MealDbCatalogSnapshotStore(
+            MealDbCatalog catalog,
+            MealDbProperties mealDbProperties,
+            @Qualifier("catalogScheduler") TaskScheduler catalogScheduler
+    ) {
+        this.catalog = catalog;
+        this.settings = mealDbProperties.getCatalog();
+        this.catalogScheduler = catalogScheduler;
+    }
+
+    @PostConstruct
+    public void loadOnStartup() {
+        if (isEnabled()) {
+            reloadIfNewer();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePolling() {
+        if (isEnabled()) {
+            catalogScheduler.scheduleWithFixedDelay(this::reloadIfNewer,
+                    Instant.now().plus(settings.getSnapshotPollInterval()), settings.getSnapshotPollInterval());
+        }
+    }
+
+    // Writes the index to a temporary file and renames it over the snapshot, so readers only ever
+    // map a complete file. Mappings of the replaced file stay valid until they are released.
+    public void publish(MealDbCatalogIndex index) {
+        if (!isEnabled()) {
+            catalog.replace(index);
+            return;
+        }
+
+        Path snapshot = snapshotPath();
+        try {
+            Files.createDirectories(snapshot.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = index.toBuffer();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            catalog.replace(map(snapshot));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write MealDB catalog snapshot to {}, serving the index from memory", snapshot, e);
+            catalog.replace(index);
+        }
+    }
+
+    public void reloadIfNewer() {
+        Path snapshot = snapshotPath();
+        if (!Files.isRegularFile(snapshot)) {
+            return;
+        }
+
+        try {
+            Instant current = catalog.current().getSyncedAt();
+            if (current != null && !readSyncedAt(snapshot).isAfter(current)) {
+                return;
+            }
+
+            MealDbCatalogIndex index = map(snapshot);
+            if (catalog.replaceIfNewer(index)) {
+                log.info("Loaded MealDB catalog snapshot from {}: {} meals, synced at {}",
+                        snapshot, index.mealCount(), index.getSyncedAt());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load MealDB catalog snapshot from {}", snapshot, e);
+        }
+    }
+
+    private MealDbCatalogIndex map(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            return MealDbCatalogIndex.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private Instant readSyncedAt(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MealDbCatalogIndex.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Truncated MealDB catalog snapshot header");
+                }
+            }
+            return MealDbCatalogIndex.readSyncedAt(header);
+        }
+    }
+
+    private boolean isEnabled() {
+        return settings.getSnapshotPath() != null && !settings.getSnapshotPath().isBlank();
+    }
+
+    private Path snapshotPath() {
+        return Path.of(settings.getSnapshotPath());
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.client.MealDbClient;
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints.FILTER_PATH;
+import static io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints.LIST_PATH;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mealdb.catalog", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MealDbCatalogSync {
+
+    private final MealDbClient mealDbClient;
+    private final MealDbCatalog catalog;
+    private final MealDbCatalogSnapshotStore snapshotStore;
+    private final MealDbProperties.Catalog settings;
+    private final TaskScheduler catalogScheduler;
+
+    public MealDbCatalogSync(
+            MealDbClient mealDbClient,
+            MealDbCatalog catalog,
+            MealDbCatalogSnapshotStore snapshotStore,
+            MealDbProperties mealDbProperties,
+            @Qualifier("catalogScheduler") TaskScheduler catalogScheduler
+    ) {
+        this.mealDbClient = mealDbClient;
+        this.catalog = catalog;
+        this.snapshotStore = snapshotStore;
+        this.settings = mealDbProperties.getCatalog();
+        this.catalogScheduler = catalogScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleSync() {
+        catalogScheduler.scheduleWithFixedDelay(this::syncSafely,
+                Instant.now().plus(settings.getInitialDelay()), settings.getSyncInterval());
+    }
+
+    // Lists are always downloaded again, so values added or removed upstream show up on the next run.
+    // Filter lists are fetched for new values, and for at most max-refreshes-per-sync of the stalest
+    // known ones; everything else is carried over from the current index.
+    public void sync() {
+        MealDbCatalogIndex current = catalog.current();
+        Instant now = Instant.now();
+
+        Map<MealDbFilterType, List<String>> names = new EnumMap<>(MealDbFilterType.class);
+        for (MealDbFilterType type : MealDbFilterType.values()) {
+            String url = settings.getBaseUrl() + String.format(LIST_PATH, type.getQueryParameter());
+            names.put(type, mealDbClient.listFilterValues(url, type));
+        }
+
+        Set<String> refreshes = pickRefreshes(current, names, now);
+        MealDbCatalogIndex.Builder builder = MealDbCatalogIndex.builder();
+        int fetched = 0;
+        int failed = 0;
+
+        for (Map.Entry<MealDbFilterType, List<String>> entry : names.entrySet()) {
+            MealDbFilterType type = entry.getKey();
+            for (String name : entry.getValue()) {
+                builder.name(type, name);
+                MealDbCatalogIndex.Posting posting = current.getPosting(type, MealDbCatalogIndex.key(type, name));
+
+                if (posting != null && !refreshes.contains(refreshKey(type, name))) {
+                    builder.posting(type, name, posting, current);
+                    continue;
+                }
+
+                try {
+                    builder.posting(type, name, fetchFilterList(type, name), now);
+                    fetched++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.debug("Could not sync MealDB {} '{}'", type, name, e);
+                    if (posting != null) {
+                        builder.posting(type, name, posting, current);
+                    }
+                }
+            }
+        }
+
+        MealDbCatalogIndex newIndex = builder.build(now);
+        snapshotStore.publish(newIndex);
+        log.info("MealDB catalog synced: {} meals, {} filter lists fetched, {} failed",
+                newIndex.mealCount(), fetched, failed);
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("MealDB catalog sync failed, keeping the current index", e);
+        }
+    }
+
+    private Set<String> pickRefreshes(MealDbCatalogIndex current, Map<MealDbFilterType, List<String>> names, Instant now) {
+        Instant staleBefore = now.minus(settings.getRefreshAfter());
+        List<StalePosting> stale = new ArrayList<>();
+
+        names.forEach((type, typeNames) -> {
+            for (String name : typeNames) {
+                MealDbCatalogIndex.Posting posting = current.getPosting(type, MealDbCatalogIndex.key(type, name));
+                if (posting != null && !posting.getSyncedAt().isAfter(staleBefore)) {
+                    stale.add(new StalePosting(refreshKey(type, name), posting.getSyncedAt()));
+                }
+            }
+        });
+        stale.sort(Comparator.comparing(StalePosting::syncedAt));
+
+        Set<String> refreshes = new HashSet<>();
+        for (int i = 0; i < stale.size() && i < settings.getMaxRefreshesPerSync(); i++) {
+            refreshes.add(stale.get(i).key());
+        }
+        return refreshes;
+    }
+
+    private Set<MealDbSummary> fetchFilterList(MealDbFilterType type, String name) {
+        String url = settings.getBaseUrl() + String.format(FILTER_PATH, type.getQueryParameter(), name);
+        return mealDbClient.loadMealSummaries(url);
+    }
+
+    private static String refreshKey(MealDbFilterType type, String name) {
+        return type + ":" + MealDbCatalogIndex.key(type, name);
+    }
+
+    private record StalePosting(String key, Instant syncedAt) {}
+}
@@ -0,0 +1,263 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.tasty.Section;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyTag;
+import io.github.joannazadlo.recipedash.utils.TastyUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Every Tasty recipe seen in a search response, keyed by its recipe id, with when it was last seen.
+// Search responses carry the full ingredients, instructions and tags, so a recipe younger than
+// fresh-for is answered from here instead of another Tasty call. Recipes are also indexed by
+// ingredient name and tag name, so a repeated search can be answered locally once enough stored
+// recipes match it. At most max-recipes are kept; the least recently seen go first.
+@Component
+public class TastyRecipeStore {
+
+    private static final String RECIPE_PREFIX = "recipe:";
+
+    private final TastyProperties.Store settings;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Insertion ordered, and a recorded recipe is moved to the end, so the first one is the oldest.
+    private final LinkedHashMap<String, StoredRecipe> recipes = new LinkedHashMap<>();
+    private final Map<String, Set<String>> byIngredient = new HashMap<>();
+    private final Map<String, Set<String>> byTag = new HashMap<>();
+
+    public TastyRecipeStore(TastyProperties tastyProperties, MeterRegistry meterRegistry) {
+        this.settings = tastyProperties.getStore();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("tasty.store.recipes", this, TastyRecipeStore::size).register(meterRegistry);
+    }
+
+    // Recipes without a recipe id, instructions or sections are never shown and are not kept.
+    public void record(List<TastyRecipeRaw> seen, Instant seenAt) {
+        if (!settings.isEnabled() || seen == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (TastyRecipeRaw recipe : seen) {
+                String id = recipeId(recipe.getCanonical_id());
+                if (id == null || recipe.getInstructions() == null || recipe.getSections() == null) {
+                    continue;
+                }
+                StoredRecipe previous = recipes.get(id);
+                if (previous != null && previous.seenAt().isAfter(seenAt)) {
+                    continue;
+                }
+                unindex(id, recipes.remove(id));
+                StoredRecipe stored = new StoredRecipe(recipe, seenAt);
+                recipes.put(id, stored);
+                index(id, stored);
+            }
+
+            Iterator<Map.Entry<String, StoredRecipe>> oldest = recipes.entrySet().iterator();
+            while (recipes.size() > settings.getMaxRecipes() && oldest.hasNext()) {
+                Map.Entry<String, StoredRecipe> evicted = oldest.next();
+                oldest.remove();
+                unindex(evicted.getKey(), evicted.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The id is the one the API exposes, the canonical id without its recipe: prefix.
+    public Optional<TastyRecipeRaw> findFresh(String id) {
+        if (!settings.isEnabled()) {
+            return Optional.empty();
+        }
+
+        StoredRecipe stored;
+        lock.readLock().lock();
+        try {
+            stored = recipes.get(recipeId(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String outcome = stored == null ? "miss" : isFresh(stored, Instant.now()) ? "hit" : "stale";
+        count("tasty.store.lookup", outcome);
+        return "hit".equals(outcome) ? Optional.of(stored.recipe()) : Optional.empty();
+    }
+
+    // Answers a search from fresh stored recipes, most recently seen first, when at least
+    // minMatches of them pass the same filters as Tasty results do; otherwise Tasty has to be asked.
+    public Optional<List<TastyRecipeRaw>> answer(AllSourcesSearchCriteriaDto criteria, int minMatches) {
+        if (!settings.isEnabled() || !settings.isAnswerSearches()) {
+            return Optional.empty();
+        }
+
+        List<String> requiredIngredients = TastyUtils.extractRequiredIngredients(criteria);
+        List<StoredRecipe> matches = new ArrayList<>();
+        Instant now = Instant.now();
+
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = candidates(criteria, requiredIngredients);
+            for (Map.Entry<String, StoredRecipe> entry : recipes.entrySet()) {
+                StoredRecipe stored = entry.getValue();
+                if ((candidates == null || candidates.contains(entry.getKey())) && isFresh(stored, now)
+                        && TastyUtils.matchesCriteria(criteria, requiredIngredients, stored.recipe())) {
+                    matches.add(stored);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (matches.size() < minMatches) {
+            count("tasty.store.search", "insufficient");
+            return Optional.empty();
+        }
+        count("tasty.store.search", "answered");
+        return Optional.of(matches.stream()
+                .sorted(Comparator.comparing(StoredRecipe::seenAt).reversed())
+                .limit(minMatches)
+                .map(StoredRecipe::recipe)
+                .toList());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Narrows the search to the recipes the indexes allow, or null when no criterion can narrow it.
+    // The indexes only preselect: every candidate is still checked against the full filters.
+    private Set<String> candidates(AllSourcesSearchCriteriaDto criteria, List<String> requiredIngredients) {
+        Set<String> candidates = null;
+        for (String required : requiredIngredients) {
+            Set<String> withIngredient = new HashSet<>();
+            byIngredient.forEach((name, ids) -> {
+                if (name.contains(required)) {
+                    withIngredient.addAll(ids);
+                }
+            });
+            candidates = intersect(candidates, withIngredient);
+        }
+
+        CuisineType cuisine = criteria.getCuisine();
+        if (cuisine != null && cuisine != CuisineType.OTHER) {
+            candidates = intersect(candidates, byTag.getOrDefault(cuisine.name().toLowerCase(Locale.ROOT), Set.of()));
+        }
+
+        List<DietaryPreferenceType> preferences = criteria.getDietaryPreferences();
+        if (preferences != null && !preferences.isEmpty()) {
+            Set<String> withPreference = new HashSet<>();
+            preferences.forEach(preference ->
+                    withPreference.addAll(byTag.getOrDefault(preference.name().toLowerCase(Locale.ROOT), Set.of())));
+            candidates = intersect(candidates, withPreference);
+        }
+        return candidates;
+    }
+
+    private static Set<String> intersect(Set<String> candidates, Set<String> ids) {
+        if (candidates == null) {
+            return new HashSet<>(ids);
+        }
+        candidates.retainAll(ids);
+        return candidates;
+    }
+
+    private boolean isFresh(StoredRecipe stored, Instant now) {
+        return stored.seenAt().plus(settings.getFreshFor()).isAfter(now);
+    }
+
+    private void index(String id, StoredRecipe stored) {
+        for (String name : ingredientNames(stored.recipe())) {
+            byIngredient.computeIfAbsent(name, key -> new HashSet<>()).add(id);
+        }
+        for (String name : tagNames(stored.recipe())) {
+            byTag.computeIfAbsent(name, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void unindex(String id, StoredRecipe stored) {
+        if (stored == null) {
+            return;
+        }
+        for (String name : ingredientNames(stored.recipe())) {
+            removeFrom(byIngredient, name, id);
+        }
+        for (String name : tagNames(stored.recipe())) {
+            removeFrom(byTag, name, id);
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<String>> index, String name, String id) {
+        Set<String> ids = index.get(name);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(name);
+        }
+    }
+
+    private static Set<String> ingredientNames(TastyRecipeRaw recipe) {
+        Set<String> names = new HashSet<>();
+        for (Section section : recipe.getSections()) {
+            if (section.getComponents() == null) {
+                continue;
+            }
+            section.getComponents().stream()
+                    .filter(component -> component.getIngredient() != null && component.getIngredient().getName() != null)
+                    .forEach(component -> names.add(component.getIngredient().getName().toLowerCase()));
+        }
+        return names;
+    }
+
+    private static Set<String> tagNames(TastyRecipeRaw recipe) {
+        Set<String> names = new HashSet<>();
+        if (recipe.getTags() != null) {
+            for (TastyTag tag : recipe.getTags()) {
+                if (tag.getName() != null) {
+                    names.add(tag.getName().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String recipeId(String canonicalId) {
+        if (canonicalId != null && canonicalId.startsWith(RECIPE_PREFIX)) {
+            return canonicalId.substring(RECIPE_PREFIX.length());
+        }
+        return canonicalId;
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder(name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record StoredRecipe(TastyRecipeRaw recipe, Instant seenAt) {
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.config.properties.HedgeSettings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends a second copy of a call when the first has not answered within the observed latency
+// percentile, and returns whichever succeeds first. Each call earns budget-ratio of a hedge, so
+// hedges add at most that share of extra upstream calls, with bursts capped at max-budget.
+public class HedgedCall<T> {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final String name;
+    private final HedgeSettings settings;
+    private final Executor executor;
+    private final Counter firedHedges;
+    private final Counter wonHedges;
+    private final Counter deniedHedges;
+
+    private final long[] samples;
+    private int sampleCount;
+    private int nextSample;
+    private int samplesSinceRecompute;
+    private volatile long hedgeDelayNanos = -1;
+
+    private double budget;
+
+    public HedgedCall(String name, HedgeSettings settings, Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.executor = executor;
+        this.samples = new long[settings.getSampleWindow()];
+        this.firedHedges = counter(name, "fired", meterRegistry);
+        this.wonHedges = counter(name, "won", meterRegistry);
+        this.deniedHedges = counter(name, "denied", meterRegistry);
+    }
+
+    public T execute(Supplier<T> call) {
+        if (!settings.isEnabled()) {
+            return call.get();
+        }
+
+        long delayNanos = hedgeDelayNanos;
+        CompletableFuture<T> primary;
+        try {
+            primary = attempt(call);
+        } catch (RejectedExecutionException e) {
+            return call.get();
+        }
+        earnBudget();
+
+        if (delayNanos < 0) {
+            return await(primary);
+        }
+
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // slower than the percentile, the hedge is considered below
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        }
+
+        if (!spendBudget()) {
+            deniedHedges.increment();
+            return await(primary);
+        }
+
+        CompletableFuture<T> hedge;
+        try {
+            hedge = attempt(call);
+        } catch (RejectedExecutionException e) {
+            return await(primary);
+        }
+        firedHedges.increment();
+
+        // The first success wins; the call only fails once both attempts have failed, and then with
+        // the primary's error. Each attempt settles the outcome from its own completion, so a late
+        // success is never overtaken by the other attempt's earlier failure. A winning hedge is
+        // counted before the caller gets its result.
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicBoolean succeeded = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, e) -> {
+            if (e == null) {
+                if (succeeded.compareAndSet(false, true)) {
+                    first.complete(result);
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                first.completeExceptionally(e);
+            }
+        });
+        hedge.whenComplete((result, e) -> {
+            if (e == null) {
+                if (succeeded.compareAndSet(false, true)) {
+                    wonHedges.increment();
+                    first.complete(result);
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                first.completeExceptionally(causeOf(primary));
+            }
+        });
+        return await(first);
+    }
+
+    long currentHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    private CompletableFuture<T> attempt(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startedAt = System.nanoTime();
+            T result = call.get();
+            recordLatency(System.nanoTime() - startedAt);
+            return result;
+        }, executor);
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+        samplesSinceRecompute++;
+
+        if (sampleCount >= settings.getMinSamples()
+                && (hedgeDelayNanos < 0 || samplesSinceRecompute >= RECOMPUTE_EVERY)) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(settings.getPercentile() * sampleCount) - 1;
+            long percentile = sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+            hedgeDelayNanos = Math.max(percentile, settings.getMinDelay().toNanos());
+            samplesSinceRecompute = 0;
+        }
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(settings.getMaxBudget(), budget + settings.getBudgetRatio());
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(name + " failed", cause);
+    }
+
+    private static Counter counter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("outbound.hedge")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.config.properties.OutboundHttpProperties;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.RouteInfo;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Retries idempotent requests on the conditions HttpClient treats as transient (connection resets,
+// 429 and 503) up to each upstream's own limit. Waits back off exponentially with full jitter so
+// clients that failed together do not retry together; a longer Retry-After from the server wins.
+public class JitteredRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+    private final OutboundHttpProperties properties;
+
+    public JitteredRetryStrategy(OutboundHttpProperties properties) {
+        super(maxRetries(properties), TimeValue.ZERO_MILLISECONDS);
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean retryRequest(HttpRequest request, IOException exception, int execCount, HttpContext context) {
+        String host = request.getAuthority() != null ? request.getAuthority().getHostName() : null;
+        return execCount <= properties.forHost(host).getMaxRetries()
+                && super.retryRequest(request, exception, execCount, context);
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+        return execCount <= upstream(context).getMaxRetries()
+                && super.retryRequest(response, execCount, context);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpResponse response, int execCount, HttpContext context) {
+        long backoffMillis = upstream(context).getRetryBackoff().toMillis() << Math.min(execCount - 1, 10);
+        long jitteredMillis = ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        TimeValue retryAfter = super.getRetryInterval(response, execCount, context);
+        return retryAfter.toMilliseconds() > jitteredMillis ? retryAfter : TimeValue.ofMilliseconds(jitteredMillis);
+    }
+
+    private OutboundHttpProperties.Upstream upstream(HttpContext context) {
+        RouteInfo route = HttpClientContext.adapt(context).getHttpRoute();
+        return properties.forHost(route != null ? route.getTargetHost().getHostName() : null);
+    }
+
+    private static int maxRetries(OutboundHttpProperties properties) {
+        int maxRetries = properties.getDefaults().getMaxRetries();
+        for (OutboundHttpProperties.Upstream upstream : properties.getUpstreams().values()) {
+            maxRetries = Math.max(maxRetries, upstream.getMaxRetries());
+        }
+        return maxRetries;
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.joannazadlo.recipedash.client;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.exception.mealDb.MealDbServiceUnavailableException;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetailsResponse;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbListEntry;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbListResponse;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints.LOOKUP_BY_ID;
+
+@Component
+public class MealDbClient {
+
+    private final RestTemplate restTemplate;
+    private final UpstreamGuard mealDbGuard;
+    private final LoadingCache<String, Set<MealDbSummary>> filterCache;
+    private final SingleFlight<String, Set<MealDbSummary>> filterFlight;
+    private final SingleFlight<String, MealDbDetailsResponse> lookupFlight;
+    private final HedgedCall<MealDbDetailsResponse> lookupHedge;
+
+    public MealDbClient(
+            RestTemplate restTemplate,
+            MealDbProperties mealDbProperties,
+            @Qualifier("mealDbExecutor") Executor mealDbExecutor,
+            @Qualifier("mealDbGuard") UpstreamGuard mealDbGuard,
+            @Qualifier("hedgeExecutor") Executor hedgeExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.mealDbGuard = mealDbGuard;
+        this.filterFlight = new SingleFlight<>("mealdb.filter", meterRegistry);
+        this.lookupFlight = new SingleFlight<>("mealdb.lookup", meterRegistry);
+        this.lookupHedge = new HedgedCall<>("mealdb.lookup", mealDbProperties.getHedge(), hedgeExecutor, meterRegistry);
+
+        // Filter lists hardly ever change: entries are served stale after refresh-after while
+        // a background reload runs, and are dropped only once the ttl has passed.
+        MealDbProperties.Cache cacheSettings = mealDbProperties.getCache();
+        this.filterCache = Caffeine.newBuilder()
+                .maximumSize(cacheSettings.getMaximumSize())
+                .expireAfterWrite(cacheSettings.getTtl())
+                .refreshAfterWrite(cacheSettings.getRefreshAfter())
+                .executor(mealDbExecutor)
+                .recordStats()
+                .build(this::loadMealSummaries);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, filterCache, "mealdb.filter");
+    }
+
+    public Set<MealDbSummary> getMealSummaries(String url) {
+        return filterCache.get(url);
+    }
+
+    // Bypasses the cache, for callers that keep their own copy of the filter lists.
+    public Set<MealDbSummary> loadMealSummaries(String url) {
+        return filterFlight.execute(url, () -> fetchMealSummaries(url));
+    }
+
+    public List<String> listFilterValues(String url, MealDbFilterType type) {
+        try {
+            MealDbListResponse response = mealDbGuard.call(() -> restTemplate.getForObject(url, MealDbListResponse.class));
+            if (response == null || response.getMeals() == null) {
+                throw new IllegalStateException("Empty list response for " + url);
+            }
+            return response.getMeals().stream()
+                    .map(entry -> listValue(entry, type))
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (Exception e) {
+            throw new MealDbServiceUnavailableException("MealDB API is currently unavailable", e);
+        }
+    }
+
+    public MealDbDetailsResponse lookupMeal(String id) {
+        return lookupFlight.execute(id, () -> lookupHedge.execute(() -> mealDbGuard.call(
+                () -> restTemplate.getForObject(LOOKUP_BY_ID + id, MealDbDetailsResponse.class))));
+    }
+
+    private Set<MealDbSummary> fetchMealSummaries(String url) {
+        try {
+            MealDbSummaryResponse response = mealDbGuard.call(() -> restTemplate.getForObject(url, MealDbSummaryResponse.class));
+            if (response.getMeals() != null) {
+                return Collections.unmodifiableSet(new HashSet<>(response.getMeals()));
+            }
+            return Set.of();
+        } catch (Exception e) {
+            throw new MealDbServiceUnavailableException("MealDB API is currently unavailable", e);
+        }
+    }
+
+    private static String listValue(MealDbListEntry entry, MealDbFilterType type) {
+        return switch (type) {
+            case INGREDIENT -> entry.getStrIngredient();
+            case AREA -> entry.getStrArea();
+            case CATEGORY -> entry.getStrCategory();
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.joannazadlo.recipedash.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.joannazadlo.recipedash.catalog.TastyRecipeStore;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.constants.TastyApiConstants;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+@Component
+public class TastyClient {
+
+    private final RestTemplate restTemplate;
+    private final UpstreamGuard tastyGuard;
+    private final String apiKey;
+    private final TastyQuotaManager quotaManager;
+    private final TastyRecipeStore recipeStore;
+    private final Duration cacheFreshFor;
+    private final Cache<String, CachedPage> searchCache;
+    private final Counter staleSearches;
+    private final SingleFlight<String, TastyRecipeResponse> searchFlight;
+    private final SingleFlight<String, TastyRecipeRaw> detailFlight;
+    private final HedgedCall<TastyRecipeRaw> detailHedge;
+
+    public TastyClient(
+            RestTemplate restTemplate,
+            @Value("${tasty.api.key}") String apiKey,
+            TastyQuotaManager quotaManager,
+            TastyRecipeStore recipeStore,
+            TastyProperties tastyProperties,
+            @Qualifier("tastyGuard") UpstreamGuard tastyGuard,
+            @Qualifier("hedgeExecutor") Executor hedgeExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.tastyGuard = tastyGuard;
+        this.apiKey = apiKey;
+        this.quotaManager = quotaManager;
+        this.recipeStore = recipeStore;
+        this.searchFlight = new SingleFlight<>("tasty.search", meterRegistry);
+        this.detailFlight = new SingleFlight<>("tasty.detail", meterRegistry);
+        this.detailHedge = new HedgedCall<>("tasty.detail", tastyProperties.getHedge(), hedgeExecutor, meterRegistry);
+
+        // Search pages are reused while fresh to save quota, and kept for a while longer to be
+        // served stale when the quota does not allow another search call.
+        TastyProperties.Search settings = tastyProperties.getSearch();
+        this.cacheFreshFor = settings.getCacheFreshFor();
+        this.searchCache = Caffeine.newBuilder()
+                .maximumSize(settings.getCacheSize())
+                .expireAfterWrite(settings.getCacheStaleFor())
+                .recordStats()
+                .build();
+        this.staleSearches = Counter.builder("tasty.search.stale").register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "tasty.search");
+    }
+
+    public TastyRecipeResponse searchRecipes(String query, int from, int size) {
+        return searchRecipes(query, from, size, TastyCallPriority.SEARCH);
+    }
+
+    public TastyRecipeResponse searchRecipes(String query, int from, int size, TastyCallPriority priority) {
+        String url = TastyApiConstants.RECIPES_LIST + "?from=" + from + "&size=" + size + "&q=" + query;
+        // Tasty matches case-insensitively, so queries differing only in case share one call
+        String key = query.trim().toLowerCase(Locale.ROOT) + "|" + from + "|" + size;
+
+        CachedPage cached = searchCache.getIfPresent(key);
+        if (cached != null && cached.fetchedAt().plus(cacheFreshFor).isAfter(Instant.now())) {
+            return cached.response();
+        }
+
+        try {
+            TastyRecipeResponse response = searchFlight.execute(key, () -> {
+                quotaManager.acquire(priority);
+                return exchange(url, TastyRecipeResponse.class);
+            });
+            if (response != null) {
+                Instant fetchedAt = Instant.now();
+                searchCache.put(key, new CachedPage(response, fetchedAt));
+                // only fetched pages feed the store, so a cached page does not make its recipes look fresh
+                recipeStore.record(response.getResults(), fetchedAt);
+            }
+            return response;
+        } catch (TastyQuotaExceededException e) {
+            if (cached != null) {
+                staleSearches.increment();
+                return cached.response();
+            }
+            throw e;
+        }
+    }
+
+    public TastyRecipeRaw getRecipe(String id) {
+        return getRecipe(id, TastyCallPriority.DETAIL);
+    }
+
+    public TastyRecipeRaw getRecipe(String id, TastyCallPriority priority) {
+        String url = TastyApiConstants.RECIPE_INFO + id;
+        // A hedge is a separate call and takes its own quota; when the quota refuses it, the
+        // first call is simply awaited.
+        return detailFlight.execute(url, () -> detailHedge.execute(() -> {
+            quotaManager.acquire(priority);
+            return exchange(url, TastyRecipeRaw.class);
+        }));
+    }
+
+    private <T> T exchange(String url, Class<T> responseType) {
+        try {
+            ResponseEntity<T> response = tastyGuard.call(() -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    buildHeadersEntity(),
+                    responseType
+            ));
+            String remaining = response.getHeaders().getFirst(TastyApiConstants.RAPIDAPI_REQUESTS_REMAINING_HEADER);
+            if (remaining != null) {
+                try {
+                    quotaManager.syncMonthlyRemaining(Long.parseLong(remaining.trim()));
+                } catch (NumberFormatException ignored) {
+                    // a malformed header only costs accuracy, the local count is kept
+                }
+            }
+            return response.getBody();
+        } finally {
+            quotaManager.callFinished();
+        }
+    }
+
+    private HttpEntity<String> buildHeadersEntity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TastyApiConstants.RAPIDAPI_KEY_HEADER, apiKey);
+        headers.set(TastyApiConstants.RAPIDAPI_HOST_HEADER, TastyApiConstants.RAPIDAPI_HOST_VALUE);
+        return new HttpEntity<>(headers);
+    }
+
+    private record CachedPage(TastyRecipeResponse response, Instant fetchedAt) {}
+}
@@ -0,0 +1,243 @@
+package io.github.joannazadlo.recipedash.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.joannazadlo.recipedash.model.tasty.Component;
+import io.github.joannazadlo.recipedash.model.tasty.Ingredient;
+import io.github.joannazadlo.recipedash.model.tasty.Instruction;
+import io.github.joannazadlo.recipedash.model.tasty.Measurement;
+import io.github.joannazadlo.recipedash.model.tasty.Section;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
+import io.github.joannazadlo.recipedash.model.tasty.TastyTag;
+import io.github.joannazadlo.recipedash.model.tasty.Unit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads a Tasty list page token by token and keeps only what searching and the recipe store use:
+// id, name, thumbnail, tags, ingredient names with their first measurement, and the instruction
+// texts. Everything else - nutrition, renditions, credits, positions and the rest of the
+// measurements - is skipped without being bound. A recipe whose instructions or sections are null
+// is rejected as soon as that field is read: the rest of its fields are skipped and it is kept as a
+// stub without either, so it still counts towards the page size and the local filters drop it.
+public final class TastyListDecoder {
+
+    private TastyListDecoder() {}
+
+    public static TastyRecipeResponse decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a Tasty list object");
+        }
+
+        Integer count = null;
+        List<TastyRecipeRaw> results = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "count" -> count = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                case "results" -> results = readRecipes(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new TastyRecipeResponse(count, results);
+    }
+
+    private static List<TastyRecipeRaw> readRecipes(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        List<TastyRecipeRaw> recipes = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                recipes.add(readRecipe(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return recipes;
+    }
+
+    private static TastyRecipeRaw readRecipe(JsonParser parser) throws IOException {
+        TastyRecipeRaw recipe = new TastyRecipeRaw();
+        boolean rejected = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (rejected) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "canonical_id" -> recipe.setCanonical_id(text(parser));
+                case "name" -> recipe.setName(text(parser));
+                case "thumbnail_url" -> recipe.setThumbnail_url(text(parser));
+                case "instructions" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        recipe.setInstructions(readInstructions(parser));
+                    } else {
+                        parser.skipChildren();
+                        rejected = true;
+                    }
+                }
+                case "sections" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        recipe.setSections(readSections(parser));
+                    } else {
+                        parser.skipChildren();
+                        rejected = true;
+                    }
+                }
+                case "tags" -> recipe.setTags(readTags(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (rejected) {
+            recipe.setInstructions(null);
+            recipe.setSections(null);
+            recipe.setTags(null);
+        }
+        return recipe;
+    }
+
+    private static List<Instruction> readInstructions(JsonParser parser) throws IOException {
+        List<Instruction> instructions = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                instructions.add(new Instruction(readStringField(parser, "display_text")));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return instructions;
+    }
+
+    private static List<Section> readSections(JsonParser parser) throws IOException {
+        List<Section> sections = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            List<Component> components = List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("components".equals(field) && value == JsonToken.START_ARRAY) {
+                    components = readComponents(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            sections.add(Section.builder().components(components).build());
+        }
+        return sections;
+    }
+
+    private static List<Component> readComponents(JsonParser parser) throws IOException {
+        List<Component> components = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Ingredient ingredient = null;
+            List<Measurement> measurements = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("ingredient".equals(field) && value == JsonToken.START_OBJECT) {
+                    ingredient = new Ingredient(readStringField(parser, "name"));
+                } else if ("measurements".equals(field) && value == JsonToken.START_ARRAY) {
+                    measurements = readFirstMeasurement(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            components.add(Component.builder().ingredient(ingredient).measurements(measurements).build());
+        }
+        return components;
+    }
+
+    // Only the first measurement is ever shown, so the others are skipped.
+    private static List<Measurement> readFirstMeasurement(JsonParser parser) throws IOException {
+        Measurement first = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first != null || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            first = new Measurement();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("quantity".equals(field)) {
+                    first.setQuantity(text(parser));
+                } else if ("unit".equals(field) && value == JsonToken.START_OBJECT) {
+                    first.setUnit(new Unit(readStringField(parser, "name")));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return first == null ? List.of() : List.of(first);
+    }
+
+    private static List<TastyTag> readTags(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        List<TastyTag> tags = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String name = null;
+            String type = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> name = text(parser);
+                    case "type" -> type = text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            tags.add(new TastyTag(name, type));
+        }
+        return tags;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    // Reads one string field of the current object and skips the others, ending on END_OBJECT.
+    private static String readStringField(JsonParser parser, String name) throws IOException {
+        String result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                result = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+}
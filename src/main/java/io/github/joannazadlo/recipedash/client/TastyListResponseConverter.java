@@ -0,0 +1,69 @@
+package io.github.joannazadlo.recipedash.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+// Decodes Tasty list pages with TastyListDecoder instead of binding the whole recipe graph. It is
+// registered ahead of the Jackson converter, only claims TastyRecipeResponse and only reads.
+public class TastyListResponseConverter implements HttpMessageConverter<TastyRecipeResponse> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+
+    private final JsonFactory jsonFactory;
+
+    public TastyListResponseConverter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        return TastyRecipeResponse.class == clazz && (mediaType == null
+                || SUPPORTED_MEDIA_TYPES.stream().anyMatch(supported -> supported.includes(mediaType)));
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public @NonNull List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public @NonNull TastyRecipeResponse read(
+            @NonNull Class<? extends TastyRecipeResponse> clazz,
+            @NonNull HttpInputMessage inputMessage
+    ) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            return TastyListDecoder.decode(parser);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Could not read Tasty list response: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    // Never reached: canWrite is always false.
+    @Override
+    public void write(
+            @NonNull TastyRecipeResponse response,
+            @Nullable MediaType contentType,
+            @NonNull HttpOutputMessage outputMessage
+    ) {
+        throw new HttpMessageNotWritableException("Tasty list responses are only read");
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+// Keeps Tasty calls within the RapidAPI per-second and monthly quotas. Detail lookups may use the
+// whole budget and briefly wait for a per-second token; searches never wait and leave a share of
+// both budgets untouched, so opening a recipe keeps working when search traffic is heavy. Detail
+// prefetches are treated like searches but keep a larger monthly reserve, so they stop first.
+//
+// The monthly count is kept per node, in memory. It starts at monthly-limit, which after a restart,
+// or with several nodes sharing the API key, can be far more than is left. So until a response has
+// reported the remaining quota, calls go out one at a time, and every response's count replaces the
+// local one. Between responses each node spends from its own copy, so nodes sharing a key can still
+// overspend by the calls they make concurrently.
+@Component
+public class TastyQuotaManager {
+
+    private final TastyProperties.Quota settings;
+    private final TokenBucket secondBucket;
+    private final Map<TastyCallPriority, Counter> deniedCalls = new EnumMap<>(TastyCallPriority.class);
+
+    private static final long SEED_POLL_NANOS = 10_000_000;
+
+    private YearMonth month;
+    private long monthlyRemaining;
+    private boolean seeded;
+    private boolean seedCallInFlight;
+
+    public TastyQuotaManager(TastyProperties tastyProperties, MeterRegistry meterRegistry) {
+        this.settings = tastyProperties.getQuota();
+        this.secondBucket = new TokenBucket(settings.getRequestsPerSecond(), settings.getRequestsPerSecond());
+        this.month = YearMonth.now(ZoneOffset.UTC);
+        this.monthlyRemaining = settings.getMonthlyLimit();
+
+        Gauge.builder("tasty.quota.monthly.remaining", this, TastyQuotaManager::monthlyRemaining)
+                .register(meterRegistry);
+        Gauge.builder("tasty.quota.second.available", secondBucket, TokenBucket::available)
+                .register(meterRegistry);
+        for (TastyCallPriority priority : TastyCallPriority.values()) {
+            deniedCalls.put(priority, Counter.builder("tasty.quota.denied")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void acquire(TastyCallPriority priority) {
+        long deadline = System.nanoTime()
+                + (priority == TastyCallPriority.DETAIL ? settings.getDetailMaxWait().toNanos() : 0);
+        double secondReserve = priority == TastyCallPriority.DETAIL ? 0 : settings.getDetailReservedPerSecond();
+
+        while (true) {
+            if (!hasMonthlyBudget(priority)) {
+                throw denied(priority, "Monthly Tasty quota is exhausted");
+            }
+
+            long wait;
+            String reason;
+            if (!claimCall()) {
+                wait = SEED_POLL_NANOS;
+                reason = "Tasty quota is not known yet";
+            } else if (secondBucket.tryTake(secondReserve)) {
+                if (takeMonthly(priority)) {
+                    return;
+                }
+                callFinished();
+                throw denied(priority, "Monthly Tasty quota is exhausted");
+            } else {
+                callFinished();
+                wait = secondBucket.nanosUntilAvailable();
+                reason = "Tasty rate limit reached";
+            }
+
+            if (System.nanoTime() + wait > deadline) {
+                throw denied(priority, reason);
+            }
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    // Called once the call acquire let through is done, whether or not it brought a count back.
+    public synchronized void callFinished() {
+        seedCallInFlight = false;
+    }
+
+    // RapidAPI reports the remaining monthly quota on every response, which also covers calls made
+    // by other nodes sharing the key.
+    public synchronized void syncMonthlyRemaining(long remaining) {
+        rollMonth();
+        monthlyRemaining = remaining;
+        seeded = true;
+    }
+
+    public synchronized long monthlyRemaining() {
+        rollMonth();
+        return monthlyRemaining;
+    }
+
+    // Until the quota is known, only one call at a time may go out to learn it.
+    private synchronized boolean claimCall() {
+        if (seeded) {
+            return true;
+        }
+        if (seedCallInFlight) {
+            return false;
+        }
+        seedCallInFlight = true;
+        return true;
+    }
+
+    private synchronized boolean hasMonthlyBudget(TastyCallPriority priority) {
+        rollMonth();
+        return monthlyRemaining > monthlyReserve(priority);
+    }
+
+    private synchronized boolean takeMonthly(TastyCallPriority priority) {
+        if (!hasMonthlyBudget(priority)) {
+            return false;
+        }
+        monthlyRemaining--;
+        return true;
+    }
+
+    private long monthlyReserve(TastyCallPriority priority) {
+        return switch (priority) {
+            case DETAIL -> 0;
+            case SEARCH -> (long) Math.ceil(settings.getMonthlyLimit() * settings.getSearchReserveRatio());
+            case PREFETCH -> (long) Math.ceil(settings.getMonthlyLimit() * settings.getPrefetchReserveRatio());
+        };
+    }
+
+    private void rollMonth() {
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        if (!now.equals(month)) {
+            month = now;
+            monthlyRemaining = settings.getMonthlyLimit();
+        }
+    }
+
+    private TastyQuotaExceededException denied(TastyCallPriority priority, String message) {
+        deniedCalls.get(priority).increment();
+        return new TastyQuotaExceededException(message);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.joannazadlo.recipedash.client;
+
+// The per-second Tasty call budget, refilled continuously up to its capacity. Callers other than
+// detail lookups take a token only while more than the detail reserve would be left, so the last
+// detail-reserved-per-second tokens are only ever spent on opening a recipe.
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    // Takes one token if at least reserve tokens would be left.
+    public synchronized boolean tryTake(double reserve) {
+        refill();
+        if (tokens - 1 < reserve) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized long nanosUntilAvailable() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+import java.util.function.Supplier;
+
+// Circuit breaker and bulkhead around one upstream. The breaker is checked first, so calls are
+// rejected while it is open without taking a bulkhead slot; a full bulkhead rejects the call
+// immediately instead of queueing request threads behind a struggling upstream.
+public class UpstreamGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public UpstreamGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+    }
+
+    public boolean isOpen() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    // Closed breaker and at least minFree bulkhead slots unused, for work that can be skipped.
+    public boolean hasSpareCapacity(int minFree) {
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+                && bulkhead.getMetrics().getAvailableConcurrentCalls() >= minFree;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
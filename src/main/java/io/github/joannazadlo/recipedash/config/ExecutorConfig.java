@@ -0,0 +1,97 @@
+package io.github.joannazadlo.recipedash.config;
+
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.config.properties.OutboundHttpProperties;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor(SearchProperties searchProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(searchProperties.getExecutorPoolSize());
+        executor.setMaxPoolSize(searchProperties.getExecutorPoolSize());
+        executor.setQueueCapacity(searchProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("search-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mealDbExecutor(MealDbProperties mealDbProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mealDbProperties.getMaxConcurrentRequests());
+        executor.setMaxPoolSize(mealDbProperties.getMaxConcurrentRequests());
+        executor.setQueueCapacity(mealDbProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("mealdb-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor tastyExecutor(TastyProperties tastyProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tastyProperties.getMaxConcurrentRequests());
+        executor.setMaxPoolSize(tastyProperties.getMaxConcurrentRequests());
+        executor.setQueueCapacity(tastyProperties.getExecutorQueueCapacity());
+        executor.setThreadNamePrefix("tasty-");
+        return executor;
+    }
+
+    // Runs hedged detail lookups. It has no queue, so when every thread is busy the call is made
+    // on the caller's thread without a hedge instead of waiting behind other lookups.
+    @Bean
+    public ThreadPoolTaskExecutor hedgeExecutor(OutboundHttpProperties outboundHttpProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(outboundHttpProperties.getHedgePoolSize());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedge-");
+        return executor;
+    }
+
+    // Revalidates and compacts the on-disk detail cache off the request path.
+    @Bean
+    public ThreadPoolTaskExecutor detailCacheExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("detail-cache-");
+        return executor;
+    }
+
+    // Low-priority threads for detail prefetches; a full queue drops further prefetches.
+    @Bean
+    public ThreadPoolTaskExecutor prefetchExecutor(SearchProperties searchProperties) {
+        SearchProperties.Prefetch settings = searchProperties.getPrefetch();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(settings.getThreads());
+        executor.setMaxPoolSize(settings.getThreads());
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("prefetch-");
+        return executor;
+    }
+
+    // Refreshes hot searches one at a time, apart from the catalog jobs.
+    @Bean
+    public ThreadPoolTaskScheduler hotSearchScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("hot-search-");
+        return scheduler;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler catalogScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("catalog-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.joannazadlo.recipedash.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.github.joannazadlo.recipedash.client.JitteredRetryStrategy;
+import io.github.joannazadlo.recipedash.client.OutboundMetricsInterceptor;
+import io.github.joannazadlo.recipedash.client.TastyListResponseConverter;
+import io.github.joannazadlo.recipedash.config.properties.OutboundHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+// A single pooled client serves every upstream. Connect, socket and response timeouts, pool limits
+// and retries are resolved per host, so one slow upstream can neither hold request threads
+// indefinitely nor take connections the others need.
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(OutboundHttpProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotalConnections())
+                .setMaxConnPerRoute(properties.getDefaults().getMaxConnections())
+                .setConnectionConfigResolver(route -> connectionConfig(properties,
+                        properties.forHost(route.getTargetHost().getHostName())))
+                .build();
+
+        for (OutboundHttpProperties.Upstream upstream : properties.getUpstreams().values()) {
+            if (upstream.getHost() != null) {
+                HttpRoute route = new HttpRoute(new HttpHost("https", upstream.getHost(), 443), null, true);
+                connectionManager.setMaxPerRoute(route, upstream.getMaxConnections());
+            }
+        }
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            OutboundHttpProperties properties
+    ) {
+        // Content compression is on by default: responses are requested and decoded as gzip/deflate
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setRetryStrategy(new JitteredRetryStrategy(properties))
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(
+            CloseableHttpClient outboundHttpClient,
+            OutboundHttpProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig(properties.forHost(uri.getHost())));
+            return context;
+        });
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new OutboundMetricsInterceptor(meterRegistry));
+        restTemplate.getMessageConverters().add(0, new TastyListResponseConverter(new JsonFactory()));
+        return restTemplate;
+    }
+
+    @Bean
+    public MeterBinder outboundConnectionPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "outbound");
+    }
+
+    private static ConnectionConfig connectionConfig(OutboundHttpProperties properties, OutboundHttpProperties.Upstream upstream) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(timeout(upstream.getConnectTimeout()))
+                .setSocketTimeout(timeout(upstream.getSocketTimeout()))
+                .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()))
+                .setTimeToLive(timeValue(properties.getConnectionTimeToLive()))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(OutboundHttpProperties.Upstream upstream) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(upstream.getConnectionRequestTimeout()))
+                .setResponseTimeout(timeout(upstream.getResponseTimeout()))
+                .build();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
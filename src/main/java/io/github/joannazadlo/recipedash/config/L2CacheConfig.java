@@ -0,0 +1,51 @@
+package io.github.joannazadlo.recipedash.config;
+
+import io.github.joannazadlo.recipedash.cache.InMemoryL2CacheStore;
+import io.github.joannazadlo.recipedash.cache.L2CacheStore;
+import io.github.joannazadlo.recipedash.cache.RedisL2CacheStore;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+// The shared cache tier is picked by l2-cache.type; with none there is no L2CacheStore bean and
+// every node only uses its own caches.
+@Configuration
+public class L2CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "l2-cache", name = "type", havingValue = "memory")
+    public L2CacheStore inMemoryL2CacheStore() {
+        return new InMemoryL2CacheStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "l2-cache", name = "type", havingValue = "redis")
+    public RedisMessageListenerContainer l2CacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "l2-cache", name = "type", havingValue = "redis")
+    public L2CacheStore redisL2CacheStore(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer l2CacheListenerContainer,
+            L2CacheProperties l2CacheProperties
+    ) {
+        RedisTemplate<String, byte[]> values = new RedisTemplate<>();
+        values.setConnectionFactory(connectionFactory);
+        values.setKeySerializer(RedisSerializer.string());
+        values.setValueSerializer(RedisSerializer.byteArray());
+        values.afterPropertiesSet();
+        return new RedisL2CacheStore(values, stringRedisTemplate, l2CacheListenerContainer,
+                l2CacheProperties.getInvalidationChannel());
+    }
+}
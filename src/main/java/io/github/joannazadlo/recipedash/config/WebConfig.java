@@ -1,12 +1,13 @@
 package io.github.joannazadlo.recipedash.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.DEGRADED_SOURCES_HEADER;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.NEXT_CURSOR_HEADER;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -15,6 +16,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:5173")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .exposedHeaders(DEGRADED_SOURCES_HEADER, NEXT_CURSOR_HEADER)
                 .allowCredentials(false);
     }
 
@@ -23,9 +25,4 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + System.getProperty("user.dir") + "/uploads/");
     }
-
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
 }
@@ -0,0 +1,21 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "detail-cache")
+public class DetailCacheProperties {
+
+    private String directory;
+    private Duration ttl = Duration.ofDays(7);
+    private Duration expireAfter = Duration.ofDays(90);
+    private int maxEntries = 20000;
+    private double compactionGarbageRatio = 0.5;
+    private DataSize compactionMinSize = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,18 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+public class HedgeSettings {
+    private boolean enabled = false;
+    private double percentile = 0.95;
+    private double budgetRatio = 0.05;
+    private int maxBudget = 10;
+    private int minSamples = 20;
+    private int sampleWindow = 256;
+    private Duration minDelay = Duration.ofMillis(50);
+}
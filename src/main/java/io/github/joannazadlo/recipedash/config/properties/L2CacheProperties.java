@@ -0,0 +1,16 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "l2-cache")
+public class L2CacheProperties {
+
+    // none, memory (a single node's stand-in) or redis
+    private String type = "none";
+    private String keyPrefix = "recipedash:";
+    private String invalidationChannel = "recipedash:cache-invalidation";
+}
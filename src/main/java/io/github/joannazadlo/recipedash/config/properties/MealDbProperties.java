@@ -0,0 +1,51 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "mealdb")
+public class MealDbProperties {
+
+    private int maxConcurrentRequests = 8;
+    private int executorQueueCapacity = 64;
+    private final Planner planner = new Planner();
+    private final Cache cache = new Cache();
+    private final Catalog catalog = new Catalog();
+    private final HedgeSettings hedge = new HedgeSettings();
+
+    @Getter
+    @Setter
+    public static class Planner {
+        private int probeThreshold = 50;
+        private int verifyThreshold = 5;
+        private int statisticsSize = 2000;
+        private int mealCacheSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private long maximumSize = 2000;
+        private Duration ttl = Duration.ofHours(24);
+        private Duration refreshAfter = Duration.ofHours(6);
+    }
+
+    @Getter
+    @Setter
+    public static class Catalog {
+        private boolean enabled = true;
+        private String baseUrl = MealDbApiEndpoints.BASE_URL;
+        private Duration initialDelay = Duration.ofSeconds(30);
+        private Duration syncInterval = Duration.ofHours(6);
+        private Duration refreshAfter = Duration.ofHours(24);
+        private int maxRefreshesPerSync = 200;
+        private String snapshotPath;
+        private Duration snapshotPollInterval = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbound-http")
+public class OutboundHttpProperties {
+
+    private int maxTotalConnections = 64;
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private int hedgePoolSize = 16;
+    private final Upstream defaults = new Upstream();
+    private final Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    public Upstream forHost(String host) {
+        return upstreams.values().stream()
+                .filter(upstream -> upstream.getHost() != null && upstream.getHost().equalsIgnoreCase(host))
+                .findFirst()
+                .orElse(defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Upstream {
+        private String host;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration socketTimeout = Duration.ofSeconds(5);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        private int maxConnections = 20;
+        private int maxRetries = 1;
+        private Duration retryBackoff = Duration.ofMillis(200);
+    }
+}
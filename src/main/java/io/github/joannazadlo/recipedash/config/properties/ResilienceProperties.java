@@ -0,0 +1,30 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+
+    private final Source mealDb = new Source();
+    private final Source tasty = new Source();
+
+    @Getter
+    @Setter
+    public static class Source {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+        private int maxConcurrentCalls = 8;
+        private Duration maxWait = Duration.ZERO;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    private int executorPoolSize = 16;
+    private int executorQueueCapacity = 200;
+    private Duration mealDbTimeout = Duration.ofSeconds(3);
+    private Duration tastyTimeout = Duration.ofSeconds(4);
+    private Duration streamTimeout = Duration.ofSeconds(30);
+    private int defaultLimit = 50;
+    private int userSliceSize = 101;
+    private DataSize resultCacheBudget = DataSize.ofMegabytes(64);
+    private DataSize resultCacheSlabSize = DataSize.ofMegabytes(4);
+    private Duration resultCacheTtl = Duration.ofMinutes(10);
+    private final Prefetch prefetch = new Prefetch();
+    private final HotSearches hotSearches = new HotSearches();
+
+    @Getter
+    @Setter
+    public static class Prefetch {
+        private boolean enabled = true;
+        private int topN = 5;
+        private int threads = 4;
+        private int queueCapacity = 50;
+        private int maxConcurrentMealDb = 2;
+        private int maxConcurrentTasty = 1;
+        private int minFreeCalls = 4;
+        private Duration maxQueueDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class HotSearches {
+        private boolean enabled = true;
+        private int topK = 20;
+        private int sketchWidth = 2048;
+        private int sketchDepth = 4;
+        private long minHits = 5;
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        // Must be longer than refresh-interval, or an entry can expire between two runs.
+        private Duration refreshAhead = Duration.ofMinutes(3);
+        private Duration decayInterval = Duration.ofMinutes(15);
+        private int minFreeCalls = 4;
+    }
+}
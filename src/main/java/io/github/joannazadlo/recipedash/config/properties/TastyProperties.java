@@ -0,0 +1,52 @@
+package io.github.joannazadlo.recipedash.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasty")
+public class TastyProperties {
+
+    private int maxConcurrentRequests = 4;
+    private int executorQueueCapacity = 16;
+    private final Search search = new Search();
+    private final Quota quota = new Quota();
+    private final Store store = new Store();
+    private final HedgeSettings hedge = new HedgeSettings();
+
+    @Getter
+    @Setter
+    public static class Search {
+        private int pageSize = 40;
+        private int pageBudget = 3;
+        private int targetMatches = 50;
+        private int statisticsSize = 500;
+        private long cacheSize = 1000;
+        private Duration cacheFreshFor = Duration.ofMinutes(30);
+        private Duration cacheStaleFor = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Quota {
+        private double requestsPerSecond = 5;
+        private long monthlyLimit = 500;
+        private double searchReserveRatio = 0.2;
+        private double prefetchReserveRatio = 0.5;
+        private double detailReservedPerSecond = 1;
+        private Duration detailMaxWait = Duration.ofMillis(500);
+    }
+
+    @Getter
+    @Setter
+    public static class Store {
+        private boolean enabled = true;
+        private Duration freshFor = Duration.ofHours(24);
+        private int maxRecipes = 5000;
+        private boolean answerSearches = true;
+    }
+}
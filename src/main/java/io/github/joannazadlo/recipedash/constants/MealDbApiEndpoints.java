@@ -7,6 +7,8 @@ public final class MealDbApiEndpoints {
     public static final String FILTER_BY_CUISINE = BASE_URL + "/filter.php?a=";
     public static final String FILTER_BY_CATEGORY = BASE_URL + "/filter.php?c=";
     public static final String LOOKUP_BY_ID = BASE_URL + "/lookup.php?i=";
+    public static final String LIST_PATH = "/list.php?%s=list";
+    public static final String FILTER_PATH = "/filter.php?%s=%s";
 
     private MealDbApiEndpoints() {}
 }
@@ -0,0 +1,12 @@
+package io.github.joannazadlo.recipedash.constants;
+
+public final class SearchConstants {
+
+    public static final String SOURCE_MEAL_DB = "MealDb";
+    public static final String SOURCE_TASTY = "Tasty";
+    public static final String SOURCE_USER = "User";
+    public static final String DEGRADED_SOURCES_HEADER = "X-Degraded-Sources";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private SearchConstants() {}
+}
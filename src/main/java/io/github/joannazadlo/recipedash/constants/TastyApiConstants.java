@@ -8,6 +8,7 @@ public final class TastyApiConstants {
     public static final String RAPIDAPI_KEY_HEADER = "X-RapidAPI-Key";
     public static final String RAPIDAPI_HOST_HEADER = "X-RapidAPI-Host";
     public static final String RAPIDAPI_HOST_VALUE = "tasty.p.rapidapi.com";
+    public static final String RAPIDAPI_REQUESTS_REMAINING_HEADER = "X-RateLimit-Requests-Remaining";
 
     private TastyApiConstants() {}
 }
@@ -0,0 +1,24 @@
+package io.github.joannazadlo.recipedash.controller;
+
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchReportDto;
+import io.github.joannazadlo.recipedash.service.HotSearchWarmer;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin Search", description = "API for admin to inspect search traffic and cache warming")
+@RestController
+@RequestMapping("/admin/search")
+@RequiredArgsConstructor
+public class AdminSearchController {
+
+    private final HotSearchWarmer hotSearchWarmer;
+
+    @GetMapping("/hot")
+    public ResponseEntity<HotSearchReportDto> getHotSearches() {
+        return ResponseEntity.ok(hotSearchWarmer.report());
+    }
+}
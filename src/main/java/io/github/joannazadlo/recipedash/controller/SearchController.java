@@ -1,18 +1,29 @@
 package io.github.joannazadlo.recipedash.controller;
 
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.helper.HotSearchTracker;
+import io.github.joannazadlo.recipedash.model.recipe.SearchResultDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
 import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
 import io.github.joannazadlo.recipedash.service.SearchService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.DEGRADED_SOURCES_HEADER;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.NEXT_CURSOR_HEADER;
+
+@Slf4j
 @Tag(name = "Search", description = "API related to searching recipes across different sources")
 @RestController
 @RequestMapping("recipes/search")
@@ -21,12 +32,52 @@ import java.util.List;
 public class SearchController {
 
     private final SearchService searchService;
+    private final SearchProperties searchProperties;
+    private final HotSearchTracker hotSearchTracker;
 
     @GetMapping
     public ResponseEntity<List<SearchRecipeDto>> searchRecipes(
             @Valid @ParameterObject @ModelAttribute AllSourcesSearchCriteriaDto criteria
     ) {
-        List<SearchRecipeDto> recipes = searchService.searchRecipes(criteria);
-        return ResponseEntity.ok(recipes);
+        hotSearchTracker.record(criteria);
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!result.getDegradedSources().isEmpty()) {
+            response.header(DEGRADED_SOURCES_HEADER, String.join(",", result.getDegradedSources()));
+        }
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        return response.body(result.getRecipes());
+    }
+
+    // Sends a "batch" event per source as soon as it answers and a final "summary" event naming the
+    // sources that failed or timed out, so clients can render fast sources without waiting for slow ones.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecipes(
+            @Valid @ParameterObject @ModelAttribute AllSourcesSearchCriteriaDto criteria
+    ) {
+        hotSearchTracker.record(criteria);
+        SseEmitter emitter = new SseEmitter(searchProperties.getStreamTimeout().toMillis());
+        searchService.streamRecipes(criteria,
+                batch -> send(emitter, "batch", batch),
+                summary -> {
+                    if (send(emitter, "summary", summary)) {
+                        emitter.complete();
+                    }
+                });
+        return emitter;
+    }
+
+    private boolean send(SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Search stream closed before {} event was sent: {}", eventName, e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
     }
 }
@@ -0,0 +1,11 @@
+package io.github.joannazadlo.recipedash.exception.search;
+
+import io.github.joannazadlo.recipedash.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidSearchCursorException extends BaseException {
+
+    public InvalidSearchCursorException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.joannazadlo.recipedash.exception.tasty;
+
+import io.github.joannazadlo.recipedash.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+public class TastyQuotaExceededException extends BaseException {
+
+    public TastyQuotaExceededException(String message) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+}
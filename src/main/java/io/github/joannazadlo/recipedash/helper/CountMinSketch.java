@@ -0,0 +1,74 @@
+package io.github.joannazadlo.recipedash.helper;
+
+// Fixed-size frequency estimator: depth rows of width counters, with every item mapped to one
+// counter per row by its own hash. An item's estimate is the smallest of its counters, which can
+// overcount through collisions but never undercounts. Updates are conservative - only counters
+// below the new estimate are raised - which keeps the overcount of rare items low. Not thread-safe.
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    // Counts one occurrence and returns the item's new estimate.
+    public long add(String item) {
+        int[] slots = slots(item);
+        long estimate = Long.MAX_VALUE;
+        for (int slot : slots) {
+            estimate = Math.min(estimate, counters[slot]);
+        }
+        long next = estimate + 1;
+        for (int slot : slots) {
+            if (counters[slot] < next) {
+                counters[slot] = next;
+            }
+        }
+        return next;
+    }
+
+    public long estimate(String item) {
+        long estimate = Long.MAX_VALUE;
+        for (int slot : slots(item)) {
+            estimate = Math.min(estimate, counters[slot]);
+        }
+        return estimate;
+    }
+
+    // Ages every count, so items that stopped being requested fall behind current ones.
+    public void halve() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+    }
+
+    // Row indexes come from two mixed hashes of the item (h1 + row * h2), which spreads items as
+    // well as independent hash functions would for this use.
+    private int[] slots(String item) {
+        int hash = item.hashCode();
+        int h1 = mix(hash);
+        int h2 = mix(hash ^ 0x9E3779B9) | 1;
+        int[] slots = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            slots[row] = row * width + Math.floorMod(h1 + row * h2, width);
+        }
+        return slots;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_MEAL_DB;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_TASTY;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_USER;
+
+// Finds the most requested search criteria in fixed memory. Every search is counted in a count-min
+// sketch under its canonical criteria - the same normalization the result cache keys use - and the
+// top-k criteria by estimated count are kept in a min-heap, so a newcomer only has to beat the
+// least popular of them to get in. Counts are halved by decay(), so the list follows current
+// traffic rather than all traffic since startup.
+@Component
+public class HotSearchTracker {
+
+    private static final String ALL_SOURCES = "*";
+
+    private final SearchProperties.HotSearches settings;
+    private final CountMinSketch sketch;
+    private final Map<String, HotSearch> top = new HashMap<>();
+    private final PriorityQueue<HotSearch> heap = new PriorityQueue<>(Comparator.comparingLong(HotSearch::hits));
+
+    public HotSearchTracker(SearchProperties searchProperties) {
+        this.settings = searchProperties.getHotSearches();
+        this.sketch = new CountMinSketch(settings.getSketchWidth(), settings.getSketchDepth());
+    }
+
+    // Only first pages are counted, so paging through one search does not count it again. Searches
+    // of user recipes alone are left out, as there is no upstream to keep warm for them.
+    public void record(AllSourcesSearchCriteriaDto criteria) {
+        if (!settings.isEnabled() || criteria.getCursor() != null) {
+            return;
+        }
+        String source = canonicalSource(criteria.getSource());
+        if (source == null || SOURCE_USER.equals(source)) {
+            return;
+        }
+
+        SearchResultCache.Key key = SearchResultCache.key(criteria, source);
+        String id = key.asString();
+        synchronized (this) {
+            long hits = sketch.add(id);
+            HotSearch current = top.get(id);
+            if (current != null) {
+                heap.remove(current);
+            } else if (top.size() >= settings.getTopK()) {
+                if (heap.peek().hits() >= hits) {
+                    return;
+                }
+                top.remove(heap.poll().id());
+            }
+            HotSearch updated = new HotSearch(id, current != null ? current.criteria() : canonicalCriteria(key, criteria), hits);
+            top.put(id, updated);
+            heap.add(updated);
+        }
+    }
+
+    // Most requested first.
+    public synchronized List<HotSearch> top() {
+        List<HotSearch> searches = new ArrayList<>(top.values());
+        searches.sort(Comparator.comparingLong(HotSearch::hits).reversed());
+        return searches;
+    }
+
+    public synchronized void decay() {
+        sketch.halve();
+        List<HotSearch> kept = new ArrayList<>();
+        for (HotSearch search : top.values()) {
+            if (search.hits() > 1) {
+                kept.add(new HotSearch(search.id(), search.criteria(), search.hits() / 2));
+            }
+        }
+        top.clear();
+        heap.clear();
+        for (HotSearch search : kept) {
+            top.put(search.id(), search);
+            heap.add(search);
+        }
+    }
+
+    // Null when the source names none of the known sources, as such a search returns nothing.
+    private static String canonicalSource(String source) {
+        if (source == null) {
+            return ALL_SOURCES;
+        }
+        for (String known : List.of(SOURCE_MEAL_DB, SOURCE_TASTY, SOURCE_USER)) {
+            if (known.equalsIgnoreCase(source)) {
+                return known;
+            }
+        }
+        return null;
+    }
+
+    private static AllSourcesSearchCriteriaDto canonicalCriteria(SearchResultCache.Key key, AllSourcesSearchCriteriaDto criteria) {
+        return AllSourcesSearchCriteriaDto.builder()
+                .ingredients(key.ingredients())
+                .cuisine(criteria.getCuisine())
+                .dietaryPreferences(key.dietaryPreferences().stream().map(DietaryPreferenceType::valueOf).toList())
+                .source(ALL_SOURCES.equals(key.source()) ? null : key.source())
+                .build();
+    }
+
+    public record HotSearch(String id, AllSourcesSearchCriteriaDto criteria, long hits) {
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetails;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.github.joannazadlo.recipedash.utils.MealDbUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class MealDbQueryPlanner {
+
+    private static final long UNKNOWN_CARDINALITY = Long.MAX_VALUE;
+
+    private final MealDbProperties.Planner settings;
+    private final Map<String, Integer> cardinalities;
+    private final Map<String, MealDbDetails> mealDetails;
+
+    public MealDbQueryPlanner(MealDbProperties mealDbProperties) {
+        this.settings = mealDbProperties.getPlanner();
+        this.cardinalities = boundedMap(settings.getStatisticsSize());
+        this.mealDetails = boundedMap(settings.getMealCacheSize());
+    }
+
+    public void recordCardinality(String url, int size) {
+        cardinalities.put(url, size);
+    }
+
+    public void recordMeal(MealDbDetails meal) {
+        if (meal.getIdMeal() != null) {
+            mealDetails.put(meal.getIdMeal(), meal);
+        }
+    }
+
+    public long estimateCardinality(MealDbFilterTerm term) {
+        long estimate = 0;
+        for (String url : term.toUrls()) {
+            Integer size = cardinalities.get(url);
+            if (size == null) {
+                return UNKNOWN_CARDINALITY;
+            }
+            estimate += size;
+        }
+        return estimate;
+    }
+
+    public List<MealDbFilterTerm> order(List<MealDbFilterTerm> terms) {
+        List<MealDbFilterTerm> ordered = new ArrayList<>(terms);
+        ordered.sort(Comparator.comparingLong(this::estimateCardinality));
+        return ordered;
+    }
+
+    // Fetching the driving term alone costs an extra round trip, so it only pays off when the term
+    // is known to be selective enough to make the remaining calls unnecessary.
+    public boolean shouldProbeFirst(List<MealDbFilterTerm> orderedTerms) {
+        return orderedTerms.size() > 1
+                && estimateCardinality(orderedTerms.get(0)) <= settings.getProbeThreshold();
+    }
+
+    public Optional<Set<MealDbSummary>> verifyLocally(Collection<MealDbSummary> candidates,
+                                                      List<MealDbFilterTerm> remainingTerms) {
+        if (candidates.size() > settings.getVerifyThreshold()) {
+            return Optional.empty();
+        }
+
+        Set<MealDbSummary> matching = new LinkedHashSet<>();
+        for (MealDbSummary candidate : candidates) {
+            MealDbDetails meal = mealDetails.get(candidate.getIdMeal());
+            if (meal == null) {
+                return Optional.empty();
+            }
+            if (remainingTerms.stream().allMatch(term -> matches(meal, term))) {
+                matching.add(candidate);
+            }
+        }
+        return Optional.of(matching);
+    }
+
+    private boolean matches(MealDbDetails meal, MealDbFilterTerm term) {
+        return switch (term.getType()) {
+            case INGREDIENT -> {
+                String required = MealDbUtils.normalizeIngredientName(term.getValues().get(0));
+                yield meal.extractIngredientNames().stream()
+                        .map(MealDbUtils::normalizeIngredientName)
+                        .anyMatch(required::equals);
+            }
+            case AREA -> term.getValues().stream().anyMatch(area -> area.equalsIgnoreCase(meal.getStrArea()));
+            case CATEGORY -> term.getValues().stream().anyMatch(category -> category.equalsIgnoreCase(meal.getStrCategory()));
+        };
+    }
+
+    private static <V> Map<String, V> boundedMap(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.cache.OffHeapSlabCache;
+import io.github.joannazadlo.recipedash.cache.SearchRecipeListCodec;
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_USER;
+
+// Shares per-source search results between users. Entries hold what a source returned for the
+// criteria before any per-user filtering, so keys only depend on the canonical criteria. The
+// results are held off-heap in their binary form, so thousands of cached pages do not add to the
+// live heap the collector has to trace. MealDB and Tasty results are also shared with the other
+// nodes through the shared cache tier; user-recipe results come from the database every node
+// reads, so only their invalidations are broadcast.
+@Component
+public class SearchResultCache {
+
+    private static final String SHARED_NAMESPACE = "search";
+
+    private final SearchRecipeListCodec codec = new SearchRecipeListCodec();
+    private final OffHeapSlabCache<Key, List<SearchRecipeDto>> results;
+    private final SharedCacheTier sharedTier;
+    private final Duration ttl;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public SearchResultCache(SearchProperties searchProperties, SharedCacheTier sharedTier, MeterRegistry meterRegistry) {
+        this.sharedTier = sharedTier;
+        this.ttl = searchProperties.getResultCacheTtl();
+        this.results = new OffHeapSlabCache<>(
+                "search.results",
+                codec,
+                searchProperties.getResultCacheBudget().toBytes(),
+                Math.toIntExact(searchProperties.getResultCacheSlabSize().toBytes()),
+                searchProperties.getResultCacheTtl(),
+                meterRegistry);
+
+        sharedTier.onInvalidation(SHARED_NAMESPACE, this::evictSource);
+    }
+
+    // Failed searches throw through and are not cached, so a degraded source is asked again. Results
+    // of a search that overlapped an invalidation of its source are returned but not cached, as
+    // they may have been read before the change.
+    public List<SearchRecipeDto> get(Key key, Supplier<List<SearchRecipeDto>> search) {
+        List<SearchRecipeDto> cached = results.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (!SOURCE_USER.equals(key.source())) {
+            byte[] fromOtherNode = sharedTier.get(SHARED_NAMESPACE, key.asString());
+            if (fromOtherNode != null) {
+                List<SearchRecipeDto> recipes = codec.decode(fromOtherNode);
+                results.put(key, recipes);
+                return recipes;
+            }
+        }
+
+        long generation = generation(key.source());
+        return store(key, search.get(), generation);
+    }
+
+    // Searches again and replaces the entry, here and in the shared tier, whatever its age.
+    public List<SearchRecipeDto> refresh(Key key, Supplier<List<SearchRecipeDto>> search) {
+        long generation = generation(key.source());
+        return store(key, search.get(), generation);
+    }
+
+    public boolean contains(Key key) {
+        return results.containsKey(key);
+    }
+
+    public boolean expiresWithin(Key key, Duration window) {
+        return results.expiresWithin(key, window);
+    }
+
+    // The generation is checked again after the put: an eviction that bumped it before the check
+    // removes the entry here, and one that bumped it after the put removes it itself.
+    private List<SearchRecipeDto> store(Key key, List<SearchRecipeDto> found, long generation) {
+        List<SearchRecipeDto> recipes = List.copyOf(found);
+        if (generation(key.source()) != generation) {
+            return recipes;
+        }
+        results.put(key, recipes);
+        if (generation(key.source()) != generation) {
+            results.removeIf(key::equals);
+            return recipes;
+        }
+        if (!SOURCE_USER.equals(key.source())) {
+            sharedTier.put(SHARED_NAMESPACE, key.asString(), codec.encode(recipes), ttl);
+        }
+        return recipes;
+    }
+
+    // Drops every entry of the source once the current transaction commits. Searches that started
+    // before the eviction do not cache what they found, so a search that read the old state cannot
+    // put it back afterwards.
+    public void invalidateSource(String source) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictSource(source);
+                    sharedTier.broadcastInvalidation(SHARED_NAMESPACE, source);
+                }
+            });
+        } else {
+            evictSource(source);
+            sharedTier.broadcastInvalidation(SHARED_NAMESPACE, source);
+        }
+    }
+
+    private void evictSource(String source) {
+        generations.computeIfAbsent(source, ignored -> new AtomicLong()).incrementAndGet();
+        results.removeIf(key -> key.source().equals(source));
+    }
+
+    private long generation(String source) {
+        AtomicLong generation = generations.get(source);
+        return generation == null ? 0 : generation.get();
+    }
+
+    public static Key key(AllSourcesSearchCriteriaDto criteria, String source) {
+        return key(criteria, source, 0, 0);
+    }
+
+    // Pages of user recipes are cached by their position, as the source is read a page at a time.
+    public static Key key(AllSourcesSearchCriteriaDto criteria, String source, long afterId, int size) {
+        List<String> ingredients = criteria.getIngredients() == null ? List.of() : criteria.getIngredients().stream()
+                .filter(Objects::nonNull)
+                .map(ingredient -> ingredient.trim().toLowerCase(Locale.ROOT))
+                .filter(ingredient -> !ingredient.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        List<String> diets = criteria.getDietaryPreferences() == null ? List.of() : criteria.getDietaryPreferences().stream()
+                .filter(Objects::nonNull)
+                .map(DietaryPreferenceType::name)
+                .distinct()
+                .sorted()
+                .toList();
+        String cuisine = criteria.getCuisine() == null ? null : criteria.getCuisine().name();
+
+        return new Key(source, ingredients, cuisine, diets, afterId, size);
+    }
+
+    public record Key(
+            String source,
+            List<String> ingredients,
+            String cuisine,
+            List<String> dietaryPreferences,
+            long afterId,
+            int size
+    ) {
+        // Identifies the entry in the shared tier; every list element is URL-encoded so no criterion
+        // can contain the separators.
+        public String asString() {
+            return source + "|" + join(ingredients) + "|" + cuisine + "|" + join(dietaryPreferences) + "|" + afterId + "|" + size;
+        }
+
+        private static String join(List<String> values) {
+            return values.stream()
+                    .map(value -> URLEncoder.encode(value, StandardCharsets.UTF_8))
+                    .collect(Collectors.joining(","));
+        }
+    }
+}
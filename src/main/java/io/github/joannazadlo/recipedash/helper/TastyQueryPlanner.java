@@ -0,0 +1,55 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class TastyQueryPlanner {
+
+    private static final long UNKNOWN_COUNT = Long.MAX_VALUE;
+
+    private final Map<String, Integer> counts;
+
+    public TastyQueryPlanner(TastyProperties tastyProperties) {
+        int capacity = tastyProperties.getSearch().getStatisticsSize();
+        this.counts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public void recordCount(String term, int count) {
+        counts.put(key(term), count);
+    }
+
+    public Integer knownCount(String term) {
+        return counts.get(key(term));
+    }
+
+    // Tasty is queried by a single term and the rest is filtered locally, so the term with the
+    // fewest known results wastes the fewest downloaded recipes. Terms never queried before keep
+    // their default order behind the known ones.
+    public String selectQuery(List<String> terms) {
+        return terms.stream()
+                .min(Comparator.comparingLong(this::estimateCount))
+                .orElse("");
+    }
+
+    public long estimateCount(String term) {
+        Integer count = knownCount(term);
+        return count == null ? UNKNOWN_COUNT : count;
+    }
+
+    private static String key(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -7,12 +7,11 @@ import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetai
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetails;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.github.joannazadlo.recipedash.utils.MealDbUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class MealDbMapper {
@@ -36,47 +35,14 @@ public class MealDbMapper {
         List<DietaryPreferenceType> dietaryPreferences = mapDietaryPreferences(details.getStrCategory());
         recipe.setDietaryPreferences(dietaryPreferences);
 
-        List<String> ingredientValues = Arrays.asList(
-                details.getStrIngredient1(), details.getStrIngredient2(), details.getStrIngredient3(),
-                details.getStrIngredient4(), details.getStrIngredient5(), details.getStrIngredient6(),
-                details.getStrIngredient7(), details.getStrIngredient8(), details.getStrIngredient9(),
-                details.getStrIngredient10(), details.getStrIngredient11(), details.getStrIngredient12(),
-                details.getStrIngredient13(), details.getStrIngredient14(), details.getStrIngredient15(),
-                details.getStrIngredient16(), details.getStrIngredient17(), details.getStrIngredient18(),
-                details.getStrIngredient19(), details.getStrIngredient20()
-        );
-
-        List<String> measureValues = Arrays.asList(
-                details.getStrMeasure1(), details.getStrMeasure2(), details.getStrMeasure3(),
-                details.getStrMeasure4(), details.getStrMeasure5(), details.getStrMeasure6(),
-                details.getStrMeasure7(), details.getStrMeasure8(), details.getStrMeasure9(),
-                details.getStrMeasure10(), details.getStrMeasure11(), details.getStrMeasure12(),
-                details.getStrMeasure13(), details.getStrMeasure14(), details.getStrMeasure15(),
-                details.getStrMeasure16(), details.getStrMeasure17(), details.getStrMeasure18(),
-                details.getStrMeasure19(), details.getStrMeasure20()
-        );
-
-        List<ExternalIngredientDto> mealDbIngredients = new ArrayList<>();
-        for (int i = 0; i < 20; i++) {
-            String name = ingredientValues.get(i);
-            String quantity = measureValues.get(i);
-            if (name != null && !name.isBlank()) {
-                mealDbIngredients.add(ExternalIngredientDto.builder()
-                        .name(name.trim())
-                        .quantity(quantity != null ? quantity.trim() : "")
-                        .build());
-            }
+        String[] ingredients = details.getIngredients();
+        List<ExternalIngredientDto> mealDbIngredients = new ArrayList<>(ingredients.length);
+        for (int i = 0; i < ingredients.length; i++) {
+            mealDbIngredients.add(new ExternalIngredientDto(ingredients[i], details.measureAt(i)));
         }
-
         recipe.setIngredients(mealDbIngredients);
 
-        List<String> steps = new ArrayList<>();
-        if (details.getStrInstructions() != null) {
-            steps = Arrays.stream(details.getStrInstructions().split("\\r?\\n"))
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty())
-                    .collect(Collectors.toList());
-        }
+        List<String> steps = MealDbUtils.splitLines(details.getStrInstructions());
         recipe.setSteps(steps);
 
         return recipe;
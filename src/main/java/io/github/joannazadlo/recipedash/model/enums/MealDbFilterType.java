@@ -0,0 +1,18 @@
+package io.github.joannazadlo.recipedash.model.enums;
+
+public enum MealDbFilterType {
+
+    INGREDIENT("i"),
+    AREA("a"),
+    CATEGORY("c");
+
+    private final String queryParameter;
+
+    MealDbFilterType(String queryParameter) {
+        this.queryParameter = queryParameter;
+    }
+
+    public String getQueryParameter() {
+        return queryParameter;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.joannazadlo.recipedash.model.enums;
+
+public enum TastyCallPriority {
+
+    DETAIL,
+    SEARCH,
+    PREFETCH
+}
@@ -1,14 +1,21 @@
 package io.github.joannazadlo.recipedash.model.mealdb;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
+// MealDB sends strIngredient1-20 and strMeasure1-20 with blanks for unused slots. Only the used
+// slots are kept, in order: ingredients holds trimmed names and measures the matching trimmed
+// measure, or "" when there is none.
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonDeserialize(using = MealDbDetailsDeserializer.class)
 public class MealDbDetails {
     private String idMeal;
     private String strMeal;
@@ -17,45 +24,16 @@ public class MealDbDetails {
     private String strInstructions;
     private String strMealThumb;
 
-    private String strIngredient1;
-    private String strIngredient2;
-    private String strIngredient3;
-    private String strIngredient4;
-    private String strIngredient5;
-    private String strIngredient6;
-    private String strIngredient7;
-    private String strIngredient8;
-    private String strIngredient9;
-    private String strIngredient10;
-    private String strIngredient11;
-    private String strIngredient12;
-    private String strIngredient13;
-    private String strIngredient14;
-    private String strIngredient15;
-    private String strIngredient16;
-    private String strIngredient17;
-    private String strIngredient18;
-    private String strIngredient19;
-    private String strIngredient20;
+    @Builder.Default
+    private String[] ingredients = new String[0];
+    @Builder.Default
+    private String[] measures = new String[0];
+
+    public List<String> extractIngredientNames() {
+        return List.of(ingredients);
+    }
 
-    private String strMeasure1;
-    private String strMeasure2;
-    private String strMeasure3;
-    private String strMeasure4;
-    private String strMeasure5;
-    private String strMeasure6;
-    private String strMeasure7;
-    private String strMeasure8;
-    private String strMeasure9;
-    private String strMeasure10;
-    private String strMeasure11;
-    private String strMeasure12;
-    private String strMeasure13;
-    private String strMeasure14;
-    private String strMeasure15;
-    private String strMeasure16;
-    private String strMeasure17;
-    private String strMeasure18;
-    private String strMeasure19;
-    private String strMeasure20;
+    public String measureAt(int index) {
+        return index < measures.length ? measures[index] : "";
+    }
 }
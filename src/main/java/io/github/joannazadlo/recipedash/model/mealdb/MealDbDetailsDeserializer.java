@@ -0,0 +1,91 @@
+package io.github.joannazadlo.recipedash.model.mealdb;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Reads a MealDB meal in a single pass over its tokens. The numbered ingredient and measure fields
+// go into two slot arrays by their number, and only the used slots are copied into the compact
+// arrays at the end, so no per-field objects are created and unused slots cost nothing.
+public class MealDbDetailsDeserializer extends StdDeserializer<MealDbDetails> {
+
+    private static final int SLOTS = 20;
+    private static final String INGREDIENT_PREFIX = "strIngredient";
+    private static final String MEASURE_PREFIX = "strMeasure";
+
+    public MealDbDetailsDeserializer() {
+        super(MealDbDetails.class);
+    }
+
+    @Override
+    public MealDbDetails deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return (MealDbDetails) context.handleUnexpectedToken(MealDbDetails.class, parser);
+        }
+
+        MealDbDetails details = new MealDbDetails();
+        String[] ingredientSlots = new String[SLOTS];
+        String[] measureSlots = new String[SLOTS];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "idMeal" -> details.setIdMeal(parser.getValueAsString());
+                case "strMeal" -> details.setStrMeal(parser.getValueAsString());
+                case "strCategory" -> details.setStrCategory(parser.getValueAsString());
+                case "strArea" -> details.setStrArea(parser.getValueAsString());
+                case "strInstructions" -> details.setStrInstructions(parser.getValueAsString());
+                case "strMealThumb" -> details.setStrMealThumb(parser.getValueAsString());
+                default -> {
+                    int slot = slot(field, INGREDIENT_PREFIX);
+                    if (slot >= 0) {
+                        ingredientSlots[slot] = parser.getValueAsString();
+                    } else if ((slot = slot(field, MEASURE_PREFIX)) >= 0) {
+                        measureSlots[slot] = parser.getValueAsString();
+                    }
+                }
+            }
+        }
+
+        String[] ingredients = new String[SLOTS];
+        String[] measures = new String[SLOTS];
+        int used = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            String name = ingredientSlots[i] == null ? null : ingredientSlots[i].trim();
+            if (name != null && !name.isEmpty()) {
+                ingredients[used] = name;
+                measures[used] = measureSlots[i] == null ? "" : measureSlots[i].trim();
+                used++;
+            }
+        }
+        details.setIngredients(Arrays.copyOf(ingredients, used));
+        details.setMeasures(Arrays.copyOf(measures, used));
+        return details;
+    }
+
+    // The zero-based slot of a numbered field such as strIngredient7, or -1 for any other field.
+    private static int slot(String field, String prefix) {
+        int length = field.length();
+        if (!field.startsWith(prefix) || length == prefix.length() || length > prefix.length() + 2) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = prefix.length(); i < length; i++) {
+            char c = field.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number >= 1 && number <= SLOTS ? number - 1 : -1;
+    }
+}
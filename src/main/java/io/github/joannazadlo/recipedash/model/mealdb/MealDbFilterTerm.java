@@ -0,0 +1,29 @@
+package io.github.joannazadlo.recipedash.model.mealdb;
+
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+import static io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints.*;
+
+// A meal matches the term if it appears in the filter list of any of its values,
+// e.g. a cuisine term holds every MealDB area that belongs to that cuisine.
+@Data
+@AllArgsConstructor
+public class MealDbFilterTerm {
+    private MealDbFilterType type;
+    private List<String> values;
+
+    public List<String> toUrls() {
+        String prefix = switch (type) {
+            case INGREDIENT -> FILTER_BY_INGREDIENT;
+            case AREA -> FILTER_BY_CUISINE;
+            case CATEGORY -> FILTER_BY_CATEGORY;
+        };
+        return values.stream()
+                .map(value -> prefix + value)
+                .toList();
+    }
+}
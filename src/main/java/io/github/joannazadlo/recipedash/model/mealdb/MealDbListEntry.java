@@ -0,0 +1,16 @@
+package io.github.joannazadlo.recipedash.model.mealdb;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealDbListEntry {
+    private String strIngredient;
+    private String strArea;
+    private String strCategory;
+}
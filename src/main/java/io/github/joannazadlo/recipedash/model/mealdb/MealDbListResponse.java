@@ -0,0 +1,16 @@
+package io.github.joannazadlo.recipedash.model.mealdb;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealDbListResponse {
+    private List<MealDbListEntry> meals;
+}
@@ -0,0 +1,22 @@
+package io.github.joannazadlo.recipedash.model.recipe;
+
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotSearchDto {
+    private List<String> ingredients;
+    private CuisineType cuisine;
+    private List<DietaryPreferenceType> dietaryPreferences;
+    private String source;
+    private long estimatedHits;
+}
@@ -0,0 +1,23 @@
+package io.github.joannazadlo.recipedash.model.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotSearchReportDto {
+    private List<HotSearchDto> topSearches;
+    private long refreshRuns;
+    private long refreshed;
+    private long alreadyFresh;
+    private long throttled;
+    private long failed;
+    private Instant lastRefreshAt;
+}
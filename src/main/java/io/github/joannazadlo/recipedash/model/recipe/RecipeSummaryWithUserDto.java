@@ -3,6 +3,8 @@ package io.github.joannazadlo.recipedash.model.recipe;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
+
 @EqualsAndHashCode(callSuper = true)
 @Data
 @NoArgsConstructor
@@ -10,4 +12,11 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class RecipeSummaryWithUserDto extends RecipeSummaryDto {
     private String userEmail;
+
+    // Used by the summary queries, which build the DTO in the SELECT clause.
+    public RecipeSummaryWithUserDto(Long id, String title, String imageSource, boolean publicRecipe,
+                                    LocalDateTime createdAt, String userEmail) {
+        super(id, title, imageSource, publicRecipe, createdAt);
+        this.userEmail = userEmail;
+    }
 }
@@ -0,0 +1,17 @@
+package io.github.joannazadlo.recipedash.model.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchBatchDto {
+    private String source;
+    private List<SearchRecipeDto> recipes;
+}
@@ -0,0 +1,18 @@
+package io.github.joannazadlo.recipedash.model.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDto {
+    private List<SearchRecipeDto> recipes;
+    private List<String> degradedSources;
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package io.github.joannazadlo.recipedash.model.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchSummaryDto {
+    private List<String> completedSources;
+    private List<String> failedSources;
+    private List<String> timedOutSources;
+    private int totalRecipes;
+}
@@ -2,6 +2,8 @@ package io.github.joannazadlo.recipedash.model.searchCriteria;
 
 import io.github.joannazadlo.recipedash.model.enums.CuisineType;
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,4 +30,10 @@ public class AllSourcesSearchCriteriaDto {
     private String source;
 
     private Boolean excludeDisliked;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit;
+
+    private String cursor;
 }
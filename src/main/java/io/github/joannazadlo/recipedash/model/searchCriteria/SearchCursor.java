@@ -0,0 +1,30 @@
+package io.github.joannazadlo.recipedash.model.searchCriteria;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Position of a unified search page in every source. External sources are addressed by the
+// number of their (filtered) results already returned, user recipes by the last recipe id
+// returned. EXHAUSTED marks a source that has nothing left to return.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchCursor {
+
+    public static final long EXHAUSTED = -1;
+
+    private long mealDbOffset;
+    private long tastyOffset;
+    private long userAfterId;
+
+    public static SearchCursor start() {
+        return new SearchCursor(0, 0, 0);
+    }
+
+    public boolean isExhausted() {
+        return mealDbOffset == EXHAUSTED && tastyOffset == EXHAUSTED && userAfterId == EXHAUSTED;
+    }
+}
@@ -12,5 +12,6 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class TastyRecipeResponse {
+    private Integer count;
     private List<TastyRecipeRaw> results;
 }
@@ -0,0 +1,100 @@
+package io.github.joannazadlo.recipedash.repository;
+
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.repository.entity.Recipe;
+import io.github.joannazadlo.recipedash.repository.entity.RecipeIngredient;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// Recipe search filters evaluated by the database. Each one returns null when its criterion is not
+// set, which Specification.allOf skips. Required ingredients and dietary preferences are one EXISTS
+// subquery each, so a recipe row is matched without joining - and multiplying - its collections,
+// and nothing but matching recipes is loaded.
+public final class RecipeSpecifications {
+
+    private RecipeSpecifications() {}
+
+    public static Specification<Recipe> matchesSearchCriteria(
+            List<String> ingredients,
+            CuisineType cuisine,
+            List<DietaryPreferenceType> dietaryPreferences
+    ) {
+        return Specification.allOf(
+                hasAllIngredients(ingredients),
+                hasCuisine(cuisine),
+                hasAllDietaryPreferences(dietaryPreferences));
+    }
+
+    public static Specification<Recipe> isOwnedBy(String uid) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("uid"), uid);
+    }
+
+    public static Specification<Recipe> hasPublicStatus(Boolean isPublic) {
+        if (isPublic == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("publicRecipe"), isPublic);
+    }
+
+    public static Specification<Recipe> hasCuisine(CuisineType cuisine) {
+        if (cuisine == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("cuisine"), cuisine);
+    }
+
+    public static Specification<Recipe> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), id);
+    }
+
+    // Ingredient names are compared trimmed and lower-cased on both sides.
+    public static Specification<Recipe> hasAllIngredients(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return null;
+        }
+        List<String> names = ingredients.stream()
+                .filter(Objects::nonNull)
+                .map(ingredient -> ingredient.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+
+        return (root, query, cb) -> cb.and(names.stream()
+                .map(name -> {
+                    Subquery<Long> subquery = query.subquery(Long.class);
+                    Root<RecipeIngredient> ingredient = subquery.from(RecipeIngredient.class);
+                    subquery.select(ingredient.<Long>get("id")).where(
+                            cb.equal(ingredient.get("recipe"), root),
+                            cb.equal(cb.lower(cb.trim(ingredient.<String>get("name"))), name));
+                    return cb.exists(subquery);
+                })
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<Recipe> hasAllDietaryPreferences(List<DietaryPreferenceType> dietaryPreferences) {
+        if (dietaryPreferences == null || dietaryPreferences.isEmpty()) {
+            return null;
+        }
+        List<DietaryPreferenceType> required = dietaryPreferences.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        return (root, query, cb) -> cb.and(required.stream()
+                .map(preference -> {
+                    Subquery<Long> subquery = query.subquery(Long.class);
+                    Root<Recipe> correlated = subquery.correlate(root);
+                    Join<Recipe, DietaryPreferenceType> preferences = correlated.join("dietaryPreferences");
+                    subquery.select(correlated.<Long>get("id")).where(cb.equal(preferences, preference));
+                    return cb.exists(subquery);
+                })
+                .toArray(Predicate[]::new));
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.joannazadlo.recipedash.repository;
+
+import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryDto;
+import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryWithUserDto;
+import io.github.joannazadlo.recipedash.repository.entity.Recipe;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Recipe listings read as summaries straight from the database, in id order. A null specification
+// lists every recipe; a limit of zero or less lists every match.
+public interface RecipeSummaryQueries {
+
+    List<RecipeSummaryDto> findSummaries(Specification<Recipe> specification, int limit);
+
+    List<RecipeSummaryWithUserDto> findSummariesWithUser(Specification<Recipe> specification);
+}
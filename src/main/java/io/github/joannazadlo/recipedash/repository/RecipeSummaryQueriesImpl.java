@@ -0,0 +1,73 @@
+package io.github.joannazadlo.recipedash.repository;
+
+import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryDto;
+import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryWithUserDto;
+import io.github.joannazadlo.recipedash.repository.entity.Recipe;
+import io.github.joannazadlo.recipedash.repository.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Summaries are built by constructor expressions in the SELECT clause, so a listing is a single
+// statement over the summary columns: no Recipe entity is managed, and neither its collections nor
+// its user can be lazily loaded afterwards.
+@RequiredArgsConstructor
+public class RecipeSummaryQueriesImpl implements RecipeSummaryQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<RecipeSummaryDto> findSummaries(Specification<Recipe> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeSummaryDto> query = cb.createQuery(RecipeSummaryDto.class);
+        Root<Recipe> recipe = query.from(Recipe.class);
+        query.select(cb.construct(RecipeSummaryDto.class,
+                recipe.get("id"),
+                recipe.get("title"),
+                recipe.get("imageSource"),
+                recipe.get("publicRecipe"),
+                recipe.get("createdAt")));
+        return list(query, recipe, specification, limit);
+    }
+
+    @Override
+    public List<RecipeSummaryWithUserDto> findSummariesWithUser(Specification<Recipe> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeSummaryWithUserDto> query = cb.createQuery(RecipeSummaryWithUserDto.class);
+        Root<Recipe> recipe = query.from(Recipe.class);
+        Join<Recipe, User> user = recipe.join("user");
+        query.select(cb.construct(RecipeSummaryWithUserDto.class,
+                recipe.get("id"),
+                recipe.get("title"),
+                recipe.get("imageSource"),
+                recipe.get("publicRecipe"),
+                recipe.get("createdAt"),
+                user.get("email")));
+        return list(query, recipe, specification, 0);
+    }
+
+    private <T> List<T> list(CriteriaQuery<T> query, Root<Recipe> recipe, Specification<Recipe> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(recipe, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(recipe.get("id")));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+}
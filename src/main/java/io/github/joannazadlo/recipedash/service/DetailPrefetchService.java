@@ -0,0 +1,148 @@
+package io.github.joannazadlo.recipedash.service;
+
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_MEAL_DB;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_TASTY;
+
+// Loads the details of the first external search results into the detail cache in the background,
+// so opening one of them is a cache hit. Prefetches are best effort: they are skipped for recipes
+// already cached, dropped when the prefetch queue is full, and dropped when their upstream is
+// under load - breaker not closed or fewer than min-free-calls bulkhead slots left - or once they
+// have waited longer than max-queue-delay. Tasty prefetches draw on the prefetch quota share only.
+@Slf4j
+@Service
+public class DetailPrefetchService {
+
+    private final MealDbService mealDbService;
+    private final TastyService tastyService;
+    private final ExternalRecipeDetailCache detailCache;
+    private final SearchProperties.Prefetch settings;
+    private final UpstreamGuard mealDbGuard;
+    private final UpstreamGuard tastyGuard;
+    private final Executor prefetchExecutor;
+    private final Semaphore mealDbSlots;
+    private final Semaphore tastySlots;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+
+    public DetailPrefetchService(
+            MealDbService mealDbService,
+            TastyService tastyService,
+            ExternalRecipeDetailCache detailCache,
+            SearchProperties searchProperties,
+            @Qualifier("mealDbGuard") UpstreamGuard mealDbGuard,
+            @Qualifier("tastyGuard") UpstreamGuard tastyGuard,
+            @Qualifier("prefetchExecutor") Executor prefetchExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.mealDbService = mealDbService;
+        this.tastyService = tastyService;
+        this.detailCache = detailCache;
+        this.settings = searchProperties.getPrefetch();
+        this.mealDbGuard = mealDbGuard;
+        this.tastyGuard = tastyGuard;
+        this.prefetchExecutor = prefetchExecutor;
+        this.mealDbSlots = new Semaphore(settings.getMaxConcurrentMealDb());
+        this.tastySlots = new Semaphore(settings.getMaxConcurrentTasty());
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void prefetch(List<SearchRecipeDto> recipes) {
+        if (!settings.isEnabled() || !detailCache.isEnabled() || recipes == null) {
+            return;
+        }
+
+        recipes.stream()
+                .filter(recipe -> SOURCE_MEAL_DB.equals(recipe.getSource()) || SOURCE_TASTY.equals(recipe.getSource()))
+                .limit(settings.getTopN())
+                .filter(recipe -> !detailCache.isFresh(recipe.getSource(), recipe.getId()))
+                .forEach(recipe -> submit(recipe.getSource(), recipe.getId()));
+    }
+
+    private void submit(String source, String id) {
+        String key = source + ":" + id;
+        if (!inFlight.add(key)) {
+            return;
+        }
+
+        long queuedAt = System.nanoTime();
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    run(source, id, queuedAt);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            count(source, "rejected");
+        }
+    }
+
+    private void run(String source, String id, long queuedAt) {
+        boolean mealDb = SOURCE_MEAL_DB.equals(source);
+        UpstreamGuard guard = mealDb ? mealDbGuard : tastyGuard;
+        Semaphore slots = mealDb ? mealDbSlots : tastySlots;
+
+        long remaining = settings.getMaxQueueDelay().toNanos() - (System.nanoTime() - queuedAt);
+        if (!acquire(slots, remaining)) {
+            count(source, "expired");
+            return;
+        }
+        try {
+            if (!guard.hasSpareCapacity(settings.getMinFreeCalls())) {
+                count(source, "cancelled");
+                return;
+            }
+            if (mealDb) {
+                mealDbService.getRecipeDetailById(id);
+            } else {
+                tastyService.prefetchRecipeDetail(id);
+            }
+            count(source, "completed");
+        } catch (RuntimeException e) {
+            count(source, "failed");
+            log.debug("Could not prefetch {} details for {}", source, id, e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static boolean acquire(Semaphore slots, long timeoutNanos) {
+        if (timeoutNanos <= 0) {
+            return false;
+        }
+        try {
+            return slots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(String source, String outcome) {
+        Counter.builder("search.prefetch")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
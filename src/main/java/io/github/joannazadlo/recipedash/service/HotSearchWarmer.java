@@ -0,0 +1,163 @@
+package io.github.joannazadlo.recipedash.service;
+
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.helper.HotSearchTracker;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchDto;
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchReportDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_MEAL_DB;
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_TASTY;
+
+// Keeps the cached MealDB and Tasty results of the most requested searches from going cold. Every
+// refresh-interval the hot searches seen at least min-hits times are checked, and the results of
+// those whose entry is missing or expires within refresh-ahead are searched again. Refreshes run
+// one at a time and are skipped while their upstream is under load, like detail prefetches.
+@Slf4j
+@Service
+public class HotSearchWarmer {
+
+    private final HotSearchTracker tracker;
+    private final SearchService searchService;
+    private final SearchResultCache searchResultCache;
+    private final SearchProperties.HotSearches settings;
+    private final UpstreamGuard mealDbGuard;
+    private final UpstreamGuard tastyGuard;
+    private final TaskScheduler hotSearchScheduler;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong alreadyFresh = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Instant lastRefreshAt;
+
+    public HotSearchWarmer(
+            HotSearchTracker tracker,
+            SearchService searchService,
+            SearchResultCache searchResultCache,
+            SearchProperties searchProperties,
+            @Qualifier("mealDbGuard") UpstreamGuard mealDbGuard,
+            @Qualifier("tastyGuard") UpstreamGuard tastyGuard,
+            @Qualifier("hotSearchScheduler") TaskScheduler hotSearchScheduler,
+            MeterRegistry meterRegistry
+    ) {
+        this.tracker = tracker;
+        this.searchService = searchService;
+        this.searchResultCache = searchResultCache;
+        this.settings = searchProperties.getHotSearches();
+        this.mealDbGuard = mealDbGuard;
+        this.tastyGuard = tastyGuard;
+        this.hotSearchScheduler = hotSearchScheduler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRefresh() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        hotSearchScheduler.scheduleWithFixedDelay(this::refreshSafely,
+                Instant.now().plus(settings.getRefreshInterval()), settings.getRefreshInterval());
+        hotSearchScheduler.scheduleWithFixedDelay(tracker::decay,
+                Instant.now().plus(settings.getDecayInterval()), settings.getDecayInterval());
+    }
+
+    public void refresh() {
+        for (HotSearchTracker.HotSearch search : tracker.top()) {
+            if (search.hits() < settings.getMinHits()) {
+                break;
+            }
+            AllSourcesSearchCriteriaDto criteria = search.criteria();
+            if (includesSource(criteria, SOURCE_MEAL_DB)) {
+                refreshSource(criteria, SOURCE_MEAL_DB, mealDbGuard);
+            }
+            if (includesSource(criteria, SOURCE_TASTY)) {
+                refreshSource(criteria, SOURCE_TASTY, tastyGuard);
+            }
+        }
+        runs.incrementAndGet();
+        lastRefreshAt = Instant.now();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public HotSearchReportDto report() {
+        List<HotSearchDto> topSearches = tracker.top().stream()
+                .map(search -> HotSearchDto.builder()
+                        .ingredients(search.criteria().getIngredients())
+                        .cuisine(search.criteria().getCuisine())
+                        .dietaryPreferences(search.criteria().getDietaryPreferences())
+                        .source(search.criteria().getSource())
+                        .estimatedHits(search.hits())
+                        .build())
+                .toList();
+
+        return HotSearchReportDto.builder()
+                .topSearches(topSearches)
+                .refreshRuns(runs.get())
+                .refreshed(refreshed.get())
+                .alreadyFresh(alreadyFresh.get())
+                .throttled(throttled.get())
+                .failed(failed.get())
+                .lastRefreshAt(lastRefreshAt)
+                .build();
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Hot search refresh failed", e);
+        }
+    }
+
+    private void refreshSource(AllSourcesSearchCriteriaDto criteria, String source, UpstreamGuard guard) {
+        if (!searchResultCache.expiresWithin(SearchResultCache.key(criteria, source), settings.getRefreshAhead())) {
+            count(source, "fresh", alreadyFresh);
+            return;
+        }
+        if (!guard.hasSpareCapacity(settings.getMinFreeCalls())) {
+            count(source, "throttled", throttled);
+            return;
+        }
+        try {
+            searchService.refreshExternalSource(criteria, source);
+            count(source, "refreshed", refreshed);
+        } catch (TastyQuotaExceededException e) {
+            count(source, "throttled", throttled);
+        } catch (RuntimeException e) {
+            count(source, "failed", failed);
+            log.debug("Could not refresh hot {} search {}", source, criteria, e);
+        }
+    }
+
+    private static boolean includesSource(AllSourcesSearchCriteriaDto criteria, String source) {
+        return criteria.getSource() == null || criteria.getSource().equals(source);
+    }
+
+    private void count(String source, String outcome, AtomicLong total) {
+        total.incrementAndGet();
+        Counter.builder("search.hot.refresh")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
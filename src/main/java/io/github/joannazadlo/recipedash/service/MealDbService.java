@@ -1,26 +1,34 @@
 package io.github.joannazadlo.recipedash.service;
 
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.catalog.MealDbCatalog;
+import io.github.joannazadlo.recipedash.client.MealDbClient;
+import io.github.joannazadlo.recipedash.constants.SearchConstants;
 import io.github.joannazadlo.recipedash.exception.mealDb.MealDbServiceUnavailableException;
 import io.github.joannazadlo.recipedash.exception.mealDb.MealNotFoundException;
+import io.github.joannazadlo.recipedash.helper.MealDbQueryPlanner;
 import io.github.joannazadlo.recipedash.mapper.MealDbMapper;
 import io.github.joannazadlo.recipedash.model.enums.CuisineType;
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetails;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetailsResponse;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
-import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummaryResponse;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
 import io.github.joannazadlo.recipedash.utils.MealDbUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-
-import static io.github.joannazadlo.recipedash.constants.MealDbApiEndpoints.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,8 +36,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MealDbService {
 
-    private final RestTemplate restTemplate;
+    private final MealDbClient mealDbClient;
     private final MealDbMapper mealDbMapper;
+    private final MealDbQueryPlanner queryPlanner;
+    private final MealDbCatalog catalog;
+    private final ExternalRecipeDetailCache detailCache;
+
+    @Qualifier("mealDbExecutor")
+    private final Executor mealDbExecutor;
 
     public List<ExternalRecipeSummaryDto> searchMeals(AllSourcesSearchCriteriaDto criteria) {
         Set<MealDbSummary> mealSummaries = searchMealSummaries(criteria);
@@ -40,75 +54,169 @@ public class MealDbService {
     }
 
     private Set<MealDbSummary> searchMealSummaries(AllSourcesSearchCriteriaDto criteria) {
-        List<Set<MealDbSummary>> mealSets = new ArrayList<>();
-
-        CuisineType cuisine = criteria.getCuisine();
-        List<DietaryPreferenceType> dietaryPreferences = criteria.getDietaryPreferences();
-
         // Meal DB does not support filtering for gluten-free or dairy free dietary preferences,
         // so if these preferences are present, empty set is returned.
-        if (MealDbUtils.hasUnsupportedPreferences(dietaryPreferences)) {
+        if (MealDbUtils.hasUnsupportedPreferences(criteria.getDietaryPreferences())) {
             return Set.of();
         }
 
-        List<String> ingredients = criteria.getIngredients();
+        List<MealDbFilterTerm> terms = buildFilterTerms(criteria);
+
+        if (terms.isEmpty()) return Set.of();
+
+        // The synced catalog answers locally; the live API is only used while it cannot cover every term.
+        Optional<Set<MealDbSummary>> local = catalog.search(terms);
+        if (local.isPresent()) {
+            return local.get();
+        }
+
+        terms = queryPlanner.order(terms);
+
+        if (queryPlanner.shouldProbeFirst(terms)) {
+            Set<MealDbSummary> candidates = awaitTerm(terms.get(0));
+            if (candidates.isEmpty()) {
+                return Set.of();
+            }
+
+            List<MealDbFilterTerm> remainingTerms = terms.subList(1, terms.size());
+            Optional<Set<MealDbSummary>> verified = queryPlanner.verifyLocally(candidates, remainingTerms);
+            if (verified.isPresent()) {
+                return verified.get();
+            }
+            return intersectTerms(remainingTerms, candidates);
+        }
 
+        return intersectTerms(terms, null);
+    }
+
+    private List<MealDbFilterTerm> buildFilterTerms(AllSourcesSearchCriteriaDto criteria) {
+        List<MealDbFilterTerm> terms = new ArrayList<>();
+
+        List<String> ingredients = criteria.getIngredients();
         if (ingredients != null && !ingredients.isEmpty()) {
             for (String ing : ingredients) {
-                Set<MealDbSummary> mealsByIngredient = fetchMealSummaries(FILTER_BY_INGREDIENT + ing);
-                if (mealsByIngredient.isEmpty()) {
-                    return Set.of();
-                }
-                mealSets.add(mealsByIngredient);
+                terms.add(new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of(MealDbUtils.normalizeFilterValue(ing))));
             }
         }
 
+        CuisineType cuisine = criteria.getCuisine();
         if (cuisine != null) {
-            List<String> possibleAreas = MealDbMapper.mapToDetailedCuisines(cuisine);
-            Set<MealDbSummary> cuisineMeals = new HashSet<>();
-            for (String area : possibleAreas) {
-                cuisineMeals.addAll(fetchMealSummaries(FILTER_BY_CUISINE + area));
-            }
-            mealSets.add(cuisineMeals);
+            terms.add(new MealDbFilterTerm(MealDbFilterType.AREA, MealDbMapper.mapToDetailedCuisines(cuisine)));
         }
 
+        List<DietaryPreferenceType> dietaryPreferences = criteria.getDietaryPreferences();
         if (dietaryPreferences != null && !dietaryPreferences.isEmpty()) {
             if (dietaryPreferences.contains(DietaryPreferenceType.VEGAN) && dietaryPreferences.contains(DietaryPreferenceType.VEGETARIAN)) {
-                mealSets.add(fetchMealSummaries(FILTER_BY_CATEGORY + "Vegan"));
+                terms.add(new MealDbFilterTerm(MealDbFilterType.CATEGORY, List.of("Vegan")));
             } else {
                 for (DietaryPreferenceType preference : dietaryPreferences) {
                     if (preference == DietaryPreferenceType.VEGAN || preference == DietaryPreferenceType.VEGETARIAN) {
-                        mealSets.add(fetchMealSummaries(FILTER_BY_CATEGORY + preference.getDisplayName()));
+                        terms.add(new MealDbFilterTerm(MealDbFilterType.CATEGORY, List.of(preference.getDisplayName())));
                     }
                 }
             }
         }
 
-        if (mealSets.isEmpty()) return Set.of();
+        return terms;
+    }
 
-        Set<MealDbSummary> result = new HashSet<>(mealSets.get(0));
-        for (int i = 1; i < mealSets.size(); i++) {
-            result.retainAll(mealSets.get(i));
+    private Set<MealDbSummary> awaitTerm(MealDbFilterTerm term) {
+        try {
+            return fetchTermAsync(term, new ArrayList<>()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-
-        return result;
     }
 
-    private Set<MealDbSummary> fetchMealSummaries(String url) {
+    // Fetches all terms concurrently and intersects them on meal ids as they arrive. As soon as the
+    // running intersection is empty the search is settled, and calls still queued are dropped;
+    // cancelling does not interrupt a call that has already started, which is left to finish.
+    private Set<MealDbSummary> intersectTerms(List<MealDbFilterTerm> terms, Set<MealDbSummary> candidates) {
+        MealIdIntersection intersection = new MealIdIntersection();
+        if (candidates != null) {
+            intersection.retain(candidates);
+        }
+
+        // Completes normally once the intersection is empty, or exceptionally on the first failed call.
+        CompletableFuture<Void> shortCircuit = new CompletableFuture<>();
+        List<CompletableFuture<Set<MealDbSummary>>> calls = new ArrayList<>();
+        List<CompletableFuture<Void>> termResults = new ArrayList<>();
+
+        for (MealDbFilterTerm term : terms) {
+            CompletableFuture<Void> termResult = fetchTermAsync(term, calls).thenAccept(meals -> {
+                if (intersection.retain(meals)) {
+                    shortCircuit.complete(null);
+                }
+            });
+            termResult.whenComplete((ignored, ex) -> {
+                if (ex != null) {
+                    shortCircuit.completeExceptionally(ex);
+                }
+            });
+            termResults.add(termResult);
+        }
+
         try {
-            MealDbSummaryResponse response = restTemplate.getForObject(url, MealDbSummaryResponse.class);
-            if (response.getMeals() != null) {
-                return new HashSet<>(response.getMeals());
+            CompletableFuture.anyOf(shortCircuit, CompletableFuture.allOf(termResults.toArray(new CompletableFuture[0]))).join();
+        } catch (CompletionException e) {
+            calls.forEach(call -> call.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+
+        if (shortCircuit.isDone()) {
+            calls.forEach(call -> call.cancel(true));
             return Set.of();
-        } catch (Exception e) {
-            throw new MealDbServiceUnavailableException("MealDB API is currently unavailable", e);
         }
+
+        return intersection.result();
+    }
+
+    // A full call queue fails the search rather than letting calls pile up behind MealDB; the calls
+    // this search has already queued are dropped with it.
+    private CompletableFuture<Set<MealDbSummary>> fetchTermAsync(MealDbFilterTerm term,
+                                                                 List<CompletableFuture<Set<MealDbSummary>>> calls) {
+        List<CompletableFuture<Set<MealDbSummary>>> termCalls = new ArrayList<>();
+        try {
+            for (String url : term.toUrls()) {
+                termCalls.add(CompletableFuture.supplyAsync(() -> fetchMealSummaries(url), mealDbExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            calls.forEach(call -> call.cancel(true));
+            termCalls.forEach(call -> call.cancel(true));
+            throw new MealDbServiceUnavailableException("MealDB call queue is full", e);
+        }
+        calls.addAll(termCalls);
+
+        if (termCalls.size() == 1) {
+            return termCalls.get(0);
+        }
+
+        return CompletableFuture.allOf(termCalls.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Set<MealDbSummary> union = new HashSet<>();
+                    termCalls.forEach(call -> union.addAll(call.join()));
+                    return union;
+                });
+    }
+
+    private Set<MealDbSummary> fetchMealSummaries(String url) {
+        Set<MealDbSummary> meals = mealDbClient.getMealSummaries(url);
+        queryPlanner.recordCardinality(url, meals.size());
+        return meals;
     }
 
     public ExternalRecipeDetailsDto getRecipeDetailById(String id) {
-        String url = LOOKUP_BY_ID + id;
-        MealDbDetailsResponse response = restTemplate.getForObject(url, MealDbDetailsResponse.class);
+        return detailCache.get(SearchConstants.SOURCE_MEAL_DB, id, () -> fetchRecipeDetail(id));
+    }
+
+    private ExternalRecipeDetailsDto fetchRecipeDetail(String id) {
+        MealDbDetailsResponse response = mealDbClient.lookupMeal(id);
 
         if (response.getMeals() == null || response.getMeals().isEmpty()) {
             throw new MealNotFoundException("Meal with id " + id + " not found");
@@ -116,9 +224,35 @@ public class MealDbService {
 
         try {
             MealDbDetails mealDbDetails = response.getMeals().get(0);
+            queryPlanner.recordMeal(mealDbDetails);
             return mealDbMapper.mapMealDbDetailsToRecipeDetailsDto(mealDbDetails);
         } catch (Exception e) {
             throw new MealDbServiceUnavailableException("MealDB API is currently unavailable", e);
         }
     }
+
+    private static final class MealIdIntersection {
+        private int[] ids;
+        private Map<Integer, MealDbSummary> mealsById;
+
+        // Returns true once no meal can match all terms seen so far.
+        synchronized boolean retain(Set<MealDbSummary> meals) {
+            if (ids == null) {
+                mealsById = new HashMap<>();
+                meals.forEach(meal -> mealsById.put(Integer.parseInt(meal.getIdMeal()), meal));
+                ids = MealDbUtils.toSortedIds(meals);
+            } else {
+                ids = MealDbUtils.intersectSortedIds(ids, MealDbUtils.toSortedIds(meals));
+            }
+            return ids.length == 0;
+        }
+
+        synchronized Set<MealDbSummary> result() {
+            Set<MealDbSummary> result = new LinkedHashSet<>();
+            for (int id : ids) {
+                result.add(mealsById.get(id));
+            }
+            return result;
+        }
+    }
 }
@@ -11,11 +11,14 @@ import io.github.joannazadlo.recipedash.model.searchCriteria.RecipeSearchCriteri
 import io.github.joannazadlo.recipedash.repository.entity.Recipe;
 import io.github.joannazadlo.recipedash.model.user.UserDto;
 import io.github.joannazadlo.recipedash.repository.RecipeRepository;
+import io.github.joannazadlo.recipedash.repository.RecipeSpecifications;
 import io.github.joannazadlo.recipedash.repository.UserRepository;
 import io.github.joannazadlo.recipedash.helper.RecipeHelper;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
 import io.github.joannazadlo.recipedash.utils.SecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
@@ -23,7 +26,8 @@ import org.springframework.web.multipart.MultipartFile;
 import io.github.joannazadlo.recipedash.repository.entity.User;
 
 import java.util.*;
-import java.util.stream.Collectors;
+
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.SOURCE_USER;
 
 @Service
 @Validated
@@ -35,16 +39,13 @@ public class RecipeService {
     private final RecipeMapper recipeMapper;
     private final ImageService imageService;
     private final RecipeHelper recipeUtils;
+    private final SearchResultCache searchResultCache;
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public List<RecipeSummaryDto> getRecipesForCurrentUser() {
         UserDto currentUser = SecurityUtils.getCurrentUser();
 
-        List<Recipe> recipes = recipeRepository.findByUserUid(currentUser.getUid());
-
-        return recipes.stream()
-                .map(recipeMapper::toSummaryDto)
-                .collect(Collectors.toList());
+        return recipeRepository.findSummaries(RecipeSpecifications.isOwnedBy(currentUser.getUid()), 0);
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -82,6 +83,7 @@ public class RecipeService {
 
         Recipe newRecipe = recipeUtils.prepareRecipeEntity(newRecipeDto, user, imageSource);
         Recipe savedRecipe = recipeRepository.save(newRecipe);
+        invalidatePublicSearchResults(savedRecipe.isPublicRecipe());
         return recipeMapper.toDetailsDto(savedRecipe);
     }
 
@@ -91,9 +93,11 @@ public class RecipeService {
         Recipe recipeToUpdate = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found: " + id));
 
+        boolean wasPublic = recipeToUpdate.isPublicRecipe();
         recipeUtils.updateRecipeFieldsFromDto(updatedRecipeDto, recipeToUpdate);
 
         Recipe saved = recipeRepository.save(recipeToUpdate);
+        invalidatePublicSearchResults(wasPublic || saved.isPublicRecipe());
 
         return recipeMapper.toDetailsDto(saved);
     }
@@ -107,9 +111,11 @@ public class RecipeService {
 
         imageService.handleImageUpdate(imageFile, imageRemoved, recipeToUpdate);
 
+        boolean wasPublic = recipeToUpdate.isPublicRecipe();
         recipeUtils.updateRecipeFieldsFromDto(updatedRecipeDto, recipeToUpdate);
 
         Recipe saved = recipeRepository.save(recipeToUpdate);
+        invalidatePublicSearchResults(wasPublic || saved.isPublicRecipe());
         return recipeMapper.toDetailsDto(saved);
     }
 
@@ -126,32 +132,51 @@ public class RecipeService {
         }
 
         recipeRepository.deleteById(id);
+        invalidatePublicSearchResults(recipeToDelete.isPublicRecipe());
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public List<RecipeSummaryDto> searchRecipesForUser(RecipeSearchCriteriaDto criteria) {
         UserDto currentUser = SecurityUtils.getCurrentUser();
 
-        return recipeRepository.findByUserUid(currentUser.getUid()).stream()
-                .filter(recipeUtils.recipeMatchesSearchCriteria(
+        return recipeRepository.findSummaries(Specification.allOf(
+                RecipeSpecifications.isOwnedBy(currentUser.getUid()),
+                RecipeSpecifications.matchesSearchCriteria(
                         criteria.getIngredients(),
                         criteria.getCuisine(),
-                        criteria.getDietaryPreferences()
-                ))
-                .filter(recipeUtils.filterByPublicStatus(criteria.getIsPublic()))
-                .map(recipeMapper::toSummaryDto)
-                .collect(Collectors.toList());
+                        criteria.getDietaryPreferences()),
+                RecipeSpecifications.hasPublicStatus(criteria.getIsPublic())), 0);
     }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public List<RecipeSummaryDto> searchPublicRecipes(RecipeSearchCriteriaDto criteria) {
-        return recipeRepository.findAll().stream()
-                .filter(Recipe::isPublicRecipe)
-                .filter(recipeUtils.recipeMatchesSearchCriteria(
+        return recipeRepository.findSummaries(publicRecipesMatching(criteria), 0);
+    }
+
+    // Reads the next limit matching public recipes in id order after afterId; the database does the
+    // filtering, so no more than one page of summaries is loaded.
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<RecipeSummaryDto> searchPublicRecipesAfter(
+            RecipeSearchCriteriaDto criteria,
+            long afterId,
+            int limit
+    ) {
+        Specification<Recipe> page = publicRecipesMatching(criteria).and(RecipeSpecifications.idGreaterThan(afterId));
+        return recipeRepository.findSummaries(page, limit);
+    }
+
+    private Specification<Recipe> publicRecipesMatching(RecipeSearchCriteriaDto criteria) {
+        return Specification.allOf(
+                RecipeSpecifications.matchesSearchCriteria(
                         criteria.getIngredients(),
                         criteria.getCuisine(),
-                        criteria.getDietaryPreferences()))
-                .map(recipeMapper::toSummaryDto)
-                .collect(Collectors.toList());
+                        criteria.getDietaryPreferences()),
+                RecipeSpecifications.hasPublicStatus(true));
+    }
+
+    private void invalidatePublicSearchResults(boolean affectsPublicRecipes) {
+        if (affectsPublicRecipes) {
+            searchResultCache.invalidateSource(SOURCE_USER);
+        }
     }
 }
@@ -1,22 +1,53 @@
 package io.github.joannazadlo.recipedash.service;
 
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.mealDb.MealDbServiceUnavailableException;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyServiceUnavailableException;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
+import io.github.joannazadlo.recipedash.model.recipe.SearchBatchDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchResultDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchSummaryDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.RecipeSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.SearchCursor;
 import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryDto;
 import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
 import io.github.joannazadlo.recipedash.repository.OpinionRepository;
+import io.github.joannazadlo.recipedash.utils.SearchCursorUtils;
 import io.github.joannazadlo.recipedash.utils.SecurityUtils;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static io.github.joannazadlo.recipedash.constants.SearchConstants.*;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchService {
@@ -25,54 +56,342 @@ public class SearchService {
     private final RecipeService recipeService;
     private final TastyService tastyService;
     private final OpinionRepository opinionRepository;
+    private final SearchResultCache searchResultCache;
+    private final DetailPrefetchService detailPrefetchService;
+    private final SearchProperties searchProperties;
+    private final TastyProperties tastyProperties;
+
+    @Qualifier("mealDbGuard")
+    private final UpstreamGuard mealDbGuard;
+
+    @Qualifier("tastyGuard")
+    private final UpstreamGuard tastyGuard;
 
+    @Qualifier("searchExecutor")
+    private final Executor searchExecutor;
+
+    // Pages through the sources in a fixed order - MealDb, Tasty, then user recipes - so the merged
+    // order is stable across requests. A page takes what is left of one source before moving to the
+    // next, and the returned cursor records how far each source has been consumed. The sources are
+    // searched at the same time; one whose turn comes after the page is full keeps its position, so
+    // the next page picks up its results from the cache.
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public List<SearchRecipeDto> searchRecipes(
+    public SearchResultDto searchRecipes(
             AllSourcesSearchCriteriaDto criteria) {
 
-        List<SearchRecipeDto> allRecipes = new ArrayList<>();
-        if (criteria.getSource() == null || criteria.getSource().equalsIgnoreCase("MealDb")) {
-            allRecipes.addAll(mealDbRecipes(criteria));
+        long startedAt = System.nanoTime();
+        int limit = criteria.getLimit() != null ? criteria.getLimit() : searchProperties.getDefaultLimit();
+        SearchCursor cursor = SearchCursorUtils.decode(criteria.getCursor());
+        Set<String> dislikedKeys = excludesDisliked(criteria) ? dislikedRecipeKeys() : Set.of();
+
+        CompletableFuture<List<SearchRecipeDto>> mealDbFuture = null;
+        if (pendingSource(criteria, SOURCE_MEAL_DB, cursor.getMealDbOffset())) {
+            mealDbFuture = submitExternalSource(SOURCE_MEAL_DB, mealDbGuard, criteria, () -> mealDbRecipes(criteria));
+        }
+
+        // Tasty may have to fill the whole page, so it is asked for enough matches to do so.
+        int targetMatches = tastyTargetMatches(cursor.getTastyOffset() + limit);
+        CompletableFuture<List<SearchRecipeDto>> tastyFuture = null;
+        if (pendingSource(criteria, SOURCE_TASTY, cursor.getTastyOffset())) {
+            tastyFuture = submitExternalSource(SOURCE_TASTY, tastyGuard, criteria, () -> tastyRecipes(criteria, targetMatches));
+        }
+
+        // Read while the external sources are in flight. One recipe more than a page is enough to
+        // tell whether the source has more after a full page.
+        int userFetchSize = limit + 1;
+        List<SearchRecipeDto> userRecipes = pendingSource(criteria, SOURCE_USER, cursor.getUserAfterId())
+                ? usersPublicRecipes(criteria, cursor.getUserAfterId(), userFetchSize)
+                : List.of();
+
+        List<String> degradedSources = new ArrayList<>();
+        List<SearchRecipeDto> page = new ArrayList<>(limit);
+        SearchCursor next = new SearchCursor();
+
+        if (mealDbFuture == null) {
+            next.setMealDbOffset(SearchCursor.EXHAUSTED);
+        } else {
+            List<SearchRecipeDto> mealDbRecipes = awaitSource(SOURCE_MEAL_DB, mealDbFuture,
+                    searchProperties.getMealDbTimeout(), startedAt, degradedSources);
+            next.setMealDbOffset(degradedSources.contains(SOURCE_MEAL_DB) ? cursor.getMealDbOffset()
+                    : takeFromOffset(page, limit, filterOutDislikedRecipes(mealDbRecipes, dislikedKeys), cursor.getMealDbOffset()));
+        }
+
+        if (tastyFuture == null) {
+            next.setTastyOffset(SearchCursor.EXHAUSTED);
+        } else {
+            List<SearchRecipeDto> tastyRecipes = awaitSource(SOURCE_TASTY, tastyFuture,
+                    searchProperties.getTastyTimeout(), startedAt, degradedSources);
+            if (degradedSources.contains(SOURCE_TASTY) || page.size() == limit) {
+                next.setTastyOffset(cursor.getTastyOffset());
+            } else {
+                List<SearchRecipeDto> allowed = filterOutDislikedRecipes(tastyRecipes, dislikedKeys);
+                long offset = takeFromOffset(page, limit, allowed, cursor.getTastyOffset());
+                // A search that stopped at its target may have more matches for the next page, as
+                // long as this page got any of them.
+                boolean stoppedAtTarget = tastyRecipes.size() >= targetMatches && allowed.size() > cursor.getTastyOffset();
+                next.setTastyOffset(offset == SearchCursor.EXHAUSTED && stoppedAtTarget ? allowed.size() : offset);
+            }
+        }
+
+        if (!pendingSource(criteria, SOURCE_USER, cursor.getUserAfterId())) {
+            next.setUserAfterId(SearchCursor.EXHAUSTED);
+        } else if (page.size() == limit) {
+            next.setUserAfterId(cursor.getUserAfterId());
+        } else {
+            next.setUserAfterId(takeAfterId(page, limit, userRecipes, userFetchSize, cursor.getUserAfterId(), dislikedKeys));
+        }
+
+        detailPrefetchService.prefetch(page);
+
+        return SearchResultDto.builder()
+                .recipes(page)
+                .degradedSources(degradedSources)
+                .nextCursor(next.isExhausted() ? null : SearchCursorUtils.encode(next))
+                .build();
+    }
+
+    private boolean pendingSource(AllSourcesSearchCriteriaDto criteria, String source, long position) {
+        return includesSource(criteria, source) && position != SearchCursor.EXHAUSTED;
+    }
+
+    // Adds the recipes after offset that still fit on the page and returns the source's next offset.
+    // Degraded sources keep their position instead, so the next page asks them again.
+    private long takeFromOffset(List<SearchRecipeDto> page, int limit, List<SearchRecipeDto> recipes, long offset) {
+        int from = (int) Math.min(offset, recipes.size());
+        int to = Math.min(recipes.size(), from + limit - page.size());
+        page.addAll(recipes.subList(from, to));
+        return to == recipes.size() ? SearchCursor.EXHAUSTED : to;
+    }
+
+    // User pages are shared between users, so disliked recipes are skipped here rather than in the
+    // query; the position still moves past them. A short read means the source has nothing left.
+    private long takeAfterId(
+            List<SearchRecipeDto> page,
+            int limit,
+            List<SearchRecipeDto> recipes,
+            int fetchSize,
+            long afterId,
+            Set<String> dislikedKeys
+    ) {
+        long position = afterId;
+        for (SearchRecipeDto recipe : recipes) {
+            if (page.size() == limit) {
+                return position;
+            }
+            position = Long.parseLong(recipe.getId());
+            if (!isDisliked(recipe, dislikedKeys)) {
+                page.add(recipe);
+            }
         }
-        if (criteria.getSource() == null || criteria.getSource().equalsIgnoreCase("Tasty")) {
-            allRecipes.addAll(tastyRecipes(criteria));
+        return recipes.size() < fetchSize ? SearchCursor.EXHAUSTED : position;
+    }
+
+    // Hands each source's recipes to onBatch as soon as that source is done, and onComplete once
+    // every source has answered, failed or missed its deadline. User recipes are searched on the
+    // calling thread, so they are usually the first batch.
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public void streamRecipes(
+            AllSourcesSearchCriteriaDto criteria,
+            Consumer<SearchBatchDto> onBatch,
+            Consumer<SearchSummaryDto> onComplete
+    ) {
+        // Read on the request thread, where the security context is available
+        Set<String> dislikedKeys = excludesDisliked(criteria) ? dislikedRecipeKeys() : Set.of();
+        StreamProgress progress = new StreamProgress();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        if (includesSource(criteria, SOURCE_MEAL_DB)) {
+            pending.add(streamSource(SOURCE_MEAL_DB, submitExternalSource(SOURCE_MEAL_DB, mealDbGuard, criteria, () -> mealDbRecipes(criteria)),
+                    searchProperties.getMealDbTimeout(), dislikedKeys, onBatch, progress));
         }
-        if (criteria.getSource() == null || criteria.getSource().equalsIgnoreCase("User")) {
-            allRecipes.addAll(usersPublicRecipes(criteria));
+        if (includesSource(criteria, SOURCE_TASTY)) {
+            pending.add(streamSource(SOURCE_TASTY, submitExternalSource(SOURCE_TASTY, tastyGuard, criteria, () -> tastyRecipes(criteria)),
+                    searchProperties.getTastyTimeout(), dislikedKeys, onBatch, progress));
         }
+        if (includesSource(criteria, SOURCE_USER)) {
+            try {
+                List<SearchRecipeDto> recipes = filterOutDislikedRecipes(usersPublicRecipes(criteria), dislikedKeys);
+                progress.completed(SOURCE_USER, recipes.size());
+                onBatch.accept(new SearchBatchDto(SOURCE_USER, recipes));
+            } catch (RuntimeException e) {
+                log.warn("Search source {} failed: {}", SOURCE_USER, e.getMessage());
+                progress.failed.add(SOURCE_USER);
+            }
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, ex) -> onComplete.accept(progress.toSummary()));
+    }
+
+    private CompletableFuture<Void> streamSource(
+            String source,
+            CompletableFuture<List<SearchRecipeDto>> future,
+            Duration timeout,
+            Set<String> dislikedKeys,
+            Consumer<SearchBatchDto> onBatch,
+            StreamProgress progress
+    ) {
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((recipes, ex) -> {
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (cause == null) {
+                        List<SearchRecipeDto> allowed = filterOutDislikedRecipes(recipes, dislikedKeys);
+                        progress.completed(source, allowed.size());
+                        onBatch.accept(new SearchBatchDto(source, allowed));
+                    } else if (cause instanceof TimeoutException) {
+                        log.warn("Search source {} missed its deadline of {} ms", source, timeout.toMillis());
+                        progress.timedOut.add(source);
+                    } else {
+                        log.warn("Search source {} failed: {}", source, cause.getMessage());
+                        progress.failed.add(source);
+                    }
+                    return null;
+                });
+    }
+
+    private boolean includesSource(AllSourcesSearchCriteriaDto criteria, String source) {
+        return criteria.getSource() == null || criteria.getSource().equalsIgnoreCase(source);
+    }
 
-        if (criteria.getExcludeDisliked() != null && criteria.getExcludeDisliked()) {
-            String uid = SecurityUtils.getCurrentUser().getUid();
-            allRecipes = filterOutDislikedRecipes(allRecipes, uid);
+    // A call through an open breaker would only be rejected, so the source is skipped straight away
+    // unless its results for these criteria are still cached.
+    private CompletableFuture<List<SearchRecipeDto>> submitExternalSource(
+            String source,
+            UpstreamGuard guard,
+            AllSourcesSearchCriteriaDto criteria,
+            Supplier<List<SearchRecipeDto>> search
+    ) {
+        if (guard.isOpen() && !searchResultCache.contains(SearchResultCache.key(criteria, source))) {
+            return CompletableFuture.failedFuture(
+                    CallNotPermittedException.createCallNotPermittedException(guard.getCircuitBreaker()));
         }
+        return submitSource(source, search);
+    }
 
-        return allRecipes;
+    private CompletableFuture<List<SearchRecipeDto>> submitSource(
+            String source,
+            Supplier<List<SearchRecipeDto>> search
+    ) {
+        try {
+            return CompletableFuture.supplyAsync(search, searchExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Search executor is saturated, skipping source {}", source);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<SearchRecipeDto> awaitSource(
+            String source,
+            CompletableFuture<List<SearchRecipeDto>> future,
+            Duration timeout,
+            long startedAt,
+            List<String> degradedSources
+    ) {
+        long remainingNanos = timeout.toNanos() - (System.nanoTime() - startedAt);
+        try {
+            return future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Cancelling a supplyAsync future would not interrupt its worker, so the upstream call is
+            // left to finish in the background; its results still land in the result cache.
+            log.warn("Search source {} missed its deadline of {} ms", source, timeout.toMillis());
+            degradedSources.add(source);
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            degradedSources.add(source);
+            return List.of();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+                degradedSources.add(source);
+                return List.of();
+            }
+            if (isUpstreamUnavailable(e.getCause())) {
+                log.warn("Search source {} skipped: {}", source, e.getCause().getMessage());
+            } else {
+                // Any other failure is still one source's problem; the rest of the page is returned.
+                log.warn("Search source {} failed", source, e.getCause());
+            }
+            degradedSources.add(source);
+            return List.of();
+        }
+    }
+
+    private boolean isUpstreamUnavailable(Throwable cause) {
+        return cause instanceof CallNotPermittedException
+                || cause instanceof TastyQuotaExceededException
+                || cause instanceof TastyServiceUnavailableException
+                || cause instanceof MealDbServiceUnavailableException;
+    }
+
+    // Searches the external source again and replaces its cached results for the criteria. Used to
+    // keep popular searches warm, outside of any request, so Tasty is searched at prefetch priority
+    // and leaves the search share of the quota to users.
+    public void refreshExternalSource(AllSourcesSearchCriteriaDto criteria, String source) {
+        searchResultCache.refresh(SearchResultCache.key(criteria, source), SOURCE_MEAL_DB.equals(source)
+                ? () -> searchMealDb(criteria)
+                : () -> searchTasty(criteria, tastyProperties.getSearch().getTargetMatches(), TastyCallPriority.PREFETCH));
     }
 
     private List<SearchRecipeDto> mealDbRecipes(
             AllSourcesSearchCriteriaDto criteria
     ) {
+        return searchResultCache.get(SearchResultCache.key(criteria, SOURCE_MEAL_DB), () -> searchMealDb(criteria));
+    }
+
+    private List<SearchRecipeDto> tastyRecipes(
+            AllSourcesSearchCriteriaDto criteria
+    ) {
+        return tastyRecipes(criteria, tastyProperties.getSearch().getTargetMatches());
+    }
+
+    private List<SearchRecipeDto> tastyRecipes(
+            AllSourcesSearchCriteriaDto criteria,
+            int targetMatches
+    ) {
+        return searchResultCache.get(tastyKey(criteria, targetMatches), () -> searchTasty(criteria, targetMatches, TastyCallPriority.SEARCH));
+    }
+
+    // Tasty stops searching once enough recipes match, so a page deeper into the results asks for
+    // more of them. Targets grow in steps of target-matches, so nearby pages share a cache entry.
+    private int tastyTargetMatches(long needed) {
+        int step = tastyProperties.getSearch().getTargetMatches();
+        return Math.toIntExact(Math.max(1, (needed + step - 1) / step) * step);
+    }
+
+    // The first step is cached under the plain key, which hot-search refreshes keep warm.
+    private SearchResultCache.Key tastyKey(AllSourcesSearchCriteriaDto criteria, int targetMatches) {
+        return targetMatches == tastyProperties.getSearch().getTargetMatches()
+                ? SearchResultCache.key(criteria, SOURCE_TASTY)
+                : SearchResultCache.key(criteria, SOURCE_TASTY, 0, targetMatches);
+    }
+
+    private List<SearchRecipeDto> searchMealDb(AllSourcesSearchCriteriaDto criteria) {
         List<SearchRecipeDto> mealDbRecipes = new ArrayList<>();
         for (ExternalRecipeSummaryDto recipe : mealDBService.searchMeals(criteria)) {
             mealDbRecipes.add(SearchRecipeDto.builder()
                     .id(recipe.getId())
                     .title(recipe.getTitle())
                     .imageSource(recipe.getImageSource())
-                    .source("MealDb").build());
+                    .source(SOURCE_MEAL_DB).build());
         }
         return mealDbRecipes;
     }
 
-    private List<SearchRecipeDto> tastyRecipes(
-            AllSourcesSearchCriteriaDto criteria
+    private List<SearchRecipeDto> searchTasty(
+            AllSourcesSearchCriteriaDto criteria,
+            int targetMatches,
+            TastyCallPriority priority
     ) {
         List<SearchRecipeDto> tastyRecipes = new ArrayList<>();
-        for (ExternalRecipeSummaryDto recipe : tastyService.searchMeals(criteria)) {
+        for (ExternalRecipeSummaryDto recipe : tastyService.searchMeals(criteria, targetMatches, priority)) {
             tastyRecipes.add(SearchRecipeDto.builder()
                     .id(recipe.getId())
                     .title(recipe.getTitle())
                     .imageSource(recipe.getImageSource())
-                    .source("Tasty").build());
+                    .source(SOURCE_TASTY).build());
         }
         return tastyRecipes;
     }
@@ -80,30 +399,85 @@ public class SearchService {
     private List<SearchRecipeDto> usersPublicRecipes(
             AllSourcesSearchCriteriaDto criteria
     ) {
-        RecipeSearchCriteriaDto recipeCriteria = RecipeSearchCriteriaDto.builder()
+        return searchResultCache.get(SearchResultCache.key(criteria, SOURCE_USER),
+                () -> toUserSearchRecipes(recipeService.searchPublicRecipes(publicRecipeCriteria(criteria))));
+    }
+
+    // Reads a slice of the same size for every page limit, so the cache key depends only on the
+    // criteria and the position, and trims it to what the page asked for.
+    private List<SearchRecipeDto> usersPublicRecipes(
+            AllSourcesSearchCriteriaDto criteria,
+            long afterId,
+            int limit
+    ) {
+        int sliceSize = Math.max(limit, searchProperties.getUserSliceSize());
+        List<SearchRecipeDto> slice = searchResultCache.get(SearchResultCache.key(criteria, SOURCE_USER, afterId, sliceSize),
+                () -> toUserSearchRecipes(recipeService.searchPublicRecipesAfter(
+                        publicRecipeCriteria(criteria), afterId, sliceSize)));
+        return slice.size() > limit ? slice.subList(0, limit) : slice;
+    }
+
+    private RecipeSearchCriteriaDto publicRecipeCriteria(AllSourcesSearchCriteriaDto criteria) {
+        return RecipeSearchCriteriaDto.builder()
                 .ingredients(criteria.getIngredients())
                 .cuisine(criteria.getCuisine())
                 .dietaryPreferences(criteria.getDietaryPreferences())
                 .isPublic(true)
                 .build();
+    }
 
+    private List<SearchRecipeDto> toUserSearchRecipes(List<RecipeSummaryDto> recipes) {
         List<SearchRecipeDto> usersPublicRecipes = new ArrayList<>();
-        for (RecipeSummaryDto recipe : recipeService.searchPublicRecipes(recipeCriteria)) {
+        for (RecipeSummaryDto recipe : recipes) {
             usersPublicRecipes.add(SearchRecipeDto.builder()
                     .id(String.valueOf(recipe.getId()))
                     .title(recipe.getTitle())
                     .imageSource(recipe.getImageSource())
-                    .source("User").build());
+                    .source(SOURCE_USER).build());
         }
         return usersPublicRecipes;
     }
 
-    private List<SearchRecipeDto> filterOutDislikedRecipes(List<SearchRecipeDto> recipes, String userId) {
-        List<String> dislikedKeys = opinionRepository.findDislikedRecipeKeysByUser(userId);
-        Set<String> dislikedSet = new HashSet<>(dislikedKeys);
+    private boolean excludesDisliked(AllSourcesSearchCriteriaDto criteria) {
+        return criteria.getExcludeDisliked() != null && criteria.getExcludeDisliked();
+    }
 
+    private Set<String> dislikedRecipeKeys() {
+        String uid = SecurityUtils.getCurrentUser().getUid();
+        return new HashSet<>(opinionRepository.findDislikedRecipeKeysByUser(uid));
+    }
+
+    private List<SearchRecipeDto> filterOutDislikedRecipes(List<SearchRecipeDto> recipes, Set<String> dislikedKeys) {
+        if (dislikedKeys.isEmpty()) {
+            return recipes;
+        }
         return recipes.stream()
-                .filter(recipe -> !dislikedSet.contains(recipe.getId() + "|" + recipe.getSource()))
+                .filter(recipe -> !isDisliked(recipe, dislikedKeys))
                 .collect(Collectors.toList());
     }
+
+    private boolean isDisliked(SearchRecipeDto recipe, Set<String> dislikedKeys) {
+        return dislikedKeys.contains(recipe.getId() + "|" + recipe.getSource());
+    }
+
+    private static final class StreamProgress {
+        private final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> timedOut = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger totalRecipes = new AtomicInteger();
+
+        void completed(String source, int recipes) {
+            completed.add(source);
+            totalRecipes.addAndGet(recipes);
+        }
+
+        SearchSummaryDto toSummary() {
+            return SearchSummaryDto.builder()
+                    .completedSources(List.copyOf(completed))
+                    .failedSources(List.copyOf(failed))
+                    .timedOutSources(List.copyOf(timedOut))
+                    .totalRecipes(totalRecipes.get())
+                    .build();
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package io.github.joannazadlo.recipedash.service;
 
-import io.github.joannazadlo.recipedash.constants.TastyApiConstants;
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.catalog.TastyRecipeStore;
+import io.github.joannazadlo.recipedash.client.TastyClient;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.constants.SearchConstants;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
 import io.github.joannazadlo.recipedash.exception.tasty.TastyRecipeNotFoundException;
 import io.github.joannazadlo.recipedash.exception.tasty.TastyServiceUnavailableException;
+import io.github.joannazadlo.recipedash.helper.TastyQueryPlanner;
 import io.github.joannazadlo.recipedash.mapper.TastyMapper;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
@@ -11,90 +18,195 @@ import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
 import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
 import io.github.joannazadlo.recipedash.utils.TastyUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TastyService {
 
-    private final RestTemplate restTemplate;
+    private final TastyClient tastyClient;
     private final TastyMapper tastyMapper;
+    private final TastyQueryPlanner queryPlanner;
+    private final TastyProperties tastyProperties;
+    private final ExternalRecipeDetailCache detailCache;
+    private final TastyRecipeStore recipeStore;
 
-    @Value("${tasty.api.key}")
-    private String apiKey;
+    @Qualifier("tastyExecutor")
+    private final Executor tastyExecutor;
 
     public List<ExternalRecipeSummaryDto> searchMeals(AllSourcesSearchCriteriaDto criteria) {
-        HttpEntity<String> entity = buildHeadersEntity();
+        return searchMeals(criteria, tastyProperties.getSearch().getTargetMatches(), TastyCallPriority.SEARCH);
+    }
 
-        String query = TastyUtils.buildSearchQuery(criteria);
+    // Returns up to targetMatches recipes; callers paging past the first target-matches ask for more.
+    // Background refreshes search at PREFETCH priority, so they never use the quota kept for users.
+    public List<ExternalRecipeSummaryDto> searchMeals(
+            AllSourcesSearchCriteriaDto criteria,
+            int targetMatches,
+            TastyCallPriority priority
+    ) {
+        Optional<List<TastyRecipeRaw>> local = recipeStore.answer(criteria, targetMatches);
+        if (local.isPresent()) {
+            return local.get().stream()
+                    .map(tastyMapper::mapTastySummaryToExternalRecipeSummaryDto)
+                    .collect(Collectors.toList());
+        }
 
-        String url = TastyApiConstants.RECIPES_LIST + "?from=0&size=50" + "&q=" + query;
+        String query = queryPlanner.selectQuery(TastyUtils.buildSearchTerms(criteria));
+        List<String> requiredIngredients = TastyUtils.extractRequiredIngredients(criteria);
+        Predicate<TastyRecipeRaw> matchesCriteria = recipe -> TastyUtils.matchesCriteria(criteria, requiredIngredients, recipe);
 
         try {
-            ResponseEntity<TastyRecipeResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    TastyRecipeResponse.class
-            );
-
-            TastyRecipeResponse tastyResponse = response.getBody();
-
-            if (tastyResponse.getResults() == null) {
-                return List.of();
-            }
-
-            List<String> requiredIngredients = TastyUtils.extractRequiredIngredients(criteria);
-
-            return tastyResponse.getResults().stream()
-                    .filter(recipe -> recipe.getInstructions() != null && recipe.getSections() != null)
-                    .filter(recipe -> TastyUtils.filterByCuisine(criteria, recipe))
-                    .filter(recipe -> TastyUtils.filterByDietaryPreferences(criteria, recipe))
-                    .filter(recipe -> TastyUtils.filterByIngredients(recipe, requiredIngredients))
+            return fetchMatches(query, matchesCriteria, targetMatches, priority).stream()
                     .map(tastyMapper::mapTastySummaryToExternalRecipeSummaryDto)
                     .collect(Collectors.toList());
+        } catch (TastyQuotaExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new TastyServiceUnavailableException("Tasty API is currently unavailable", e);
         }
     }
 
-    public ExternalRecipeDetailsDto getRecipeDetailById(String id) {
-        HttpEntity<String> entity = buildHeadersEntity();
+    // Pages are fetched concurrently in waves and consumed in page order, so results keep Tasty's
+    // ranking. Each wave holds only the pages that could still be needed to reach targetMatches, and
+    // while the query's result count is unknown pages are fetched one at a time, up to the page
+    // budget. Fetching stops as soon as enough recipes have passed the local filters.
+    private List<TastyRecipeRaw> fetchMatches(
+            String query,
+            Predicate<TastyRecipeRaw> matchesCriteria,
+            int targetMatches,
+            TastyCallPriority priority
+    ) {
+        TastyProperties.Search settings = tastyProperties.getSearch();
+        int pageSize = settings.getPageSize();
+
+        List<TastyRecipeRaw> matches = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        Integer knownCount = queryPlanner.knownCount(query);
+        boolean countKnown = knownCount != null;
+        int pageLimit = countKnown ? pageLimit(knownCount) : 1;
+        int nextPage = 0;
+
+        while (nextPage < pageLimit && matches.size() < targetMatches) {
+            int pagesNeeded = (targetMatches - matches.size() + pageSize - 1) / pageSize;
+            int waveSize = countKnown ? Math.min(pagesNeeded, pageLimit - nextPage) : 1;
+
+            // Cancelling a supplyAsync future would not interrupt a call already made, so pages still
+            // queued when the wave is done check this flag instead and skip their call.
+            AtomicBoolean waveDone = new AtomicBoolean();
+            List<CompletableFuture<TastyRecipeResponse>> wave = new ArrayList<>();
+            try {
+                for (int page = nextPage; page < nextPage + waveSize; page++) {
+                    int from = page * pageSize;
+                    wave.add(CompletableFuture.supplyAsync(() -> waveDone.get() ? null
+                            : tastyClient.searchRecipes(query, from, pageSize, priority), tastyExecutor));
+                }
+
+                for (int i = 0; i < wave.size() && matches.size() < targetMatches; i++) {
+                    int from = (nextPage + i) * pageSize;
+                    TastyRecipeResponse response;
+                    try {
+                        response = awaitPage(wave.get(i));
+                    } catch (TastyQuotaExceededException e) {
+                        // out of search budget: what has matched so far is better than nothing,
+                        // except to a refresh, which would replace a complete result with it
+                        if (matches.isEmpty() || priority == TastyCallPriority.PREFETCH) {
+                            throw e;
+                        }
+                        return matches;
+                    }
+                    List<TastyRecipeRaw> results = response == null || response.getResults() == null
+                            ? List.of() : response.getResults();
+
+                    if (response != null && response.getCount() != null) {
+                        queryPlanner.recordCount(query, response.getCount());
+                        pageLimit = Math.max(pageLimit, pageLimit(response.getCount()));
+                        countKnown = true;
+                    } else if (results.size() < pageSize) {
+                        queryPlanner.recordCount(query, from + results.size());
+                    }
+
+                    for (TastyRecipeRaw recipe : results) {
+                        if (matches.size() < targetMatches && matchesCriteria.test(recipe)
+                                && (recipe.getCanonical_id() == null || seenIds.add(recipe.getCanonical_id()))) {
+                            matches.add(recipe);
+                        }
+                    }
+
+                    if (results.size() < pageSize) {
+                        return matches;
+                    }
+                    if (!countKnown) {
+                        pageLimit = settings.getPageBudget();
+                    }
+                }
+            } finally {
+                waveDone.set(true);
+            }
+            nextPage += wave.size();
+        }
+        return matches;
+    }
 
-        String url = TastyApiConstants.RECIPE_INFO + id;
+    private int pageLimit(int count) {
+        TastyProperties.Search settings = tastyProperties.getSearch();
+        int pages = (count + settings.getPageSize() - 1) / settings.getPageSize();
+        return Math.min(pages, settings.getPageBudget());
+    }
 
+    private static TastyRecipeResponse awaitPage(CompletableFuture<TastyRecipeResponse> page) {
         try {
-            ResponseEntity<TastyRecipeRaw> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    TastyRecipeRaw.class
-            );
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // A recipe recently seen in a search response needs no call at all.
+    public ExternalRecipeDetailsDto getRecipeDetailById(String id) {
+        return recipeStore.findFresh(id)
+                .map(tastyMapper::mapTastyDetailsToRecipeDetailsDto)
+                .orElseGet(() -> detailCache.get(SearchConstants.SOURCE_TASTY, id,
+                        () -> fetchRecipeDetail(id, TastyCallPriority.DETAIL)));
+    }
 
-            TastyRecipeRaw recipe = response.getBody();
+    // Loads details into the detail cache ahead of a visit, without touching the detail quota reserve.
+    public void prefetchRecipeDetail(String id) {
+        if (recipeStore.findFresh(id).isPresent()) {
+            return;
+        }
+        detailCache.get(SearchConstants.SOURCE_TASTY, id, () -> fetchRecipeDetail(id, TastyCallPriority.PREFETCH));
+    }
+
+    private ExternalRecipeDetailsDto fetchRecipeDetail(String id, TastyCallPriority priority) {
+        try {
+            TastyRecipeRaw recipe = tastyClient.getRecipe(id, priority);
 
             if (recipe == null || recipe.getName() == null || recipe.getName().isEmpty()) {
                 throw new TastyRecipeNotFoundException("Recipe with id " + id + " not found");
             }
 
             return tastyMapper.mapTastyDetailsToRecipeDetailsDto(recipe);
-        } catch (TastyRecipeNotFoundException e) {
+        } catch (TastyRecipeNotFoundException | TastyQuotaExceededException e) {
             throw e;
         } catch (Exception e) {
             throw new TastyServiceUnavailableException("Tasty API is currently unavailable", e);
         }
     }
-
-    private HttpEntity<String> buildHeadersEntity() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(TastyApiConstants.RAPIDAPI_KEY_HEADER, apiKey);
-        headers.set(TastyApiConstants.RAPIDAPI_HOST_HEADER, TastyApiConstants.RAPIDAPI_HOST_VALUE);
-        return new HttpEntity<>(headers);
-    }
 }
@@ -1,8 +1,13 @@
 package io.github.joannazadlo.recipedash.utils;
 
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 public class MealDbUtils {
 
@@ -14,4 +19,97 @@ public class MealDbUtils {
                 .anyMatch(p -> !(p == DietaryPreferenceType.VEGAN
                         || p == DietaryPreferenceType.VEGETARIAN));
     }
+
+    public static int[] toSortedIds(Collection<MealDbSummary> meals) {
+        int[] ids = new int[meals.size()];
+        int i = 0;
+        for (MealDbSummary meal : meals) {
+            ids[i++] = Integer.parseInt(meal.getIdMeal());
+        }
+        Arrays.sort(ids);
+
+        int unique = 0;
+        for (int j = 0; j < ids.length; j++) {
+            if (j == 0 || ids[j] != ids[j - 1]) {
+                ids[unique++] = ids[j];
+            }
+        }
+        return unique == ids.length ? ids : Arrays.copyOf(ids, unique);
+    }
+
+    public static int[] intersectSortedIds(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    public static int[] unionSortedIds(int[] left, int[] right) {
+        int[] result = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                result[k++] = left[i++];
+            } else if (i == left.length || left[i] > right[j]) {
+                result[k++] = right[j++];
+            } else {
+                result[k++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    // Splits text into trimmed, non-empty lines, treating both \n and \r\n as line breaks.
+    public static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        if (text == null) {
+            return lines;
+        }
+
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            int from = start;
+            int to = end;
+            while (from < to && text.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && text.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (from < to) {
+                lines.add(text.substring(from, to));
+            }
+            start = end + 1;
+        }
+        return lines;
+    }
+
+    public static String normalizeIngredientName(String name) {
+        return name.trim().replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizeFilterValue(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,47 @@
+package io.github.joannazadlo.recipedash.utils;
+
+import io.github.joannazadlo.recipedash.exception.search.InvalidSearchCursorException;
+import io.github.joannazadlo.recipedash.model.searchCriteria.SearchCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class SearchCursorUtils {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = ":";
+
+    private SearchCursorUtils() {}
+
+    public static String encode(SearchCursor cursor) {
+        String raw = String.join(SEPARATOR, VERSION,
+                String.valueOf(cursor.getMealDbOffset()),
+                String.valueOf(cursor.getTastyOffset()),
+                String.valueOf(cursor.getUserAfterId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return SearchCursor.start();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new InvalidSearchCursorException("Invalid search cursor: " + encoded);
+            }
+            SearchCursor cursor = new SearchCursor(
+                    Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            if (cursor.getMealDbOffset() < SearchCursor.EXHAUSTED
+                    || cursor.getTastyOffset() < SearchCursor.EXHAUSTED
+                    || cursor.getUserAfterId() < SearchCursor.EXHAUSTED) {
+                throw new InvalidSearchCursorException("Invalid search cursor: " + encoded);
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchCursorException("Invalid search cursor: " + encoded);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCri
 import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
 import io.github.joannazadlo.recipedash.model.tasty.TastyTag;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,18 +15,21 @@ public class TastyUtils {
 
     private TastyUtils() {}
 
-    public static String buildSearchQuery(AllSourcesSearchCriteriaDto criteria) {
-        String query;
-        if (criteria.getIngredients() != null && !criteria.getIngredients().isEmpty()) {
-            query = criteria.getIngredients().get(0);
-        } else if (criteria.getCuisine() != null) {
-            query = criteria.getCuisine().name().toLowerCase();
-        } else if (criteria.getDietaryPreferences() != null && !criteria.getDietaryPreferences().isEmpty()) {
-            query = criteria.getDietaryPreferences().get(0).name().toLowerCase();
-        } else {
-            query = "";
+    // Every criterion Tasty can be queried by, in the default order of preference. Recipes have to
+    // match every ingredient and the cuisine but only one of the dietary preferences, so a diet is
+    // only a safe query on its own when it is the one requested.
+    public static List<String> buildSearchTerms(AllSourcesSearchCriteriaDto criteria) {
+        List<String> terms = new ArrayList<>();
+        if (criteria.getIngredients() != null) {
+            terms.addAll(criteria.getIngredients());
         }
-        return query;
+        if (criteria.getCuisine() != null) {
+            terms.add(criteria.getCuisine().name().toLowerCase());
+        }
+        if (criteria.getDietaryPreferences() != null && criteria.getDietaryPreferences().size() == 1) {
+            terms.add(criteria.getDietaryPreferences().get(0).name().toLowerCase());
+        }
+        return terms;
     }
 
     public static List<String> extractRequiredIngredients(AllSourcesSearchCriteriaDto criteria) {
@@ -36,6 +40,17 @@ public class TastyUtils {
                         .toList();
     }
 
+    // The local filters a Tasty recipe has to pass to be a search result; recipes without
+    // instructions or sections are never shown.
+    public static boolean matchesCriteria(AllSourcesSearchCriteriaDto criteria, List<String> requiredIngredients,
+                                          TastyRecipeRaw recipe) {
+        return recipe.getInstructions() != null
+                && recipe.getSections() != null
+                && filterByCuisine(criteria, recipe)
+                && filterByDietaryPreferences(criteria, recipe)
+                && filterByIngredients(recipe, requiredIngredients);
+    }
+
     public static boolean filterByCuisine(AllSourcesSearchCriteriaDto criteria, TastyRecipeRaw recipe) {
         if (criteria.getCuisine() != null) {
             String cuisineRaw = recipe.getTags() == null ? null :
@@ -0,0 +1,99 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetailSegmentStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private final Instant storedAt = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void get_shouldServeLatestValueAfterReopening() throws IOException {
+        Path segment = directory.resolve("details.segment");
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            store.put("MealDb:1", bytes("old"), storedAt);
+            store.put("MealDb:1", bytes("new"), storedAt.plusSeconds(60));
+            store.put("Tasty:2", bytes("gone"), storedAt);
+            store.remove("Tasty:2");
+        }
+
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            DetailSegmentStore.StoredValue value = store.get("MealDb:1");
+            assertEquals("new", new String(value.value(), StandardCharsets.UTF_8));
+            assertEquals(storedAt.plusSeconds(60), value.storedAt());
+            assertNull(store.get("Tasty:2"));
+            assertEquals(1, store.entryCount());
+        }
+    }
+
+    @Test
+    void compact_shouldDropOverwrittenRecordsAndKeepLiveOnes() throws IOException {
+        Path segment = directory.resolve("details.segment");
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            for (int i = 0; i < 10; i++) {
+                store.put("MealDb:1", bytes("version " + i), storedAt);
+            }
+            store.put("MealDb:2", bytes("other"), storedAt);
+            long before = store.sizeBytes();
+            assertTrue(store.needsCompaction(0.5, 0));
+
+            store.compact();
+
+            assertTrue(store.sizeBytes() < before);
+            assertFalse(store.needsCompaction(0.5, 0));
+            assertEquals("version 9", new String(store.get("MealDb:1").value(), StandardCharsets.UTF_8));
+            store.put("MealDb:3", bytes("after compaction"), storedAt);
+        }
+
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            assertEquals("other", new String(store.get("MealDb:2").value(), StandardCharsets.UTF_8));
+            assertEquals("after compaction", new String(store.get("MealDb:3").value(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void put_shouldEvictOldestEntries_whenMaxEntriesIsReached() throws IOException {
+        try (DetailSegmentStore store = new DetailSegmentStore(directory.resolve("details.segment"), 2)) {
+            store.put("MealDb:1", bytes("a"), storedAt);
+            store.put("MealDb:2", bytes("b"), storedAt);
+            store.put("MealDb:1", bytes("a2"), storedAt);
+            store.put("MealDb:3", bytes("c"), storedAt);
+
+            assertNull(store.get("MealDb:2"));
+            assertNotNull(store.get("MealDb:1"));
+            assertNotNull(store.get("MealDb:3"));
+        }
+    }
+
+    @Test
+    void open_shouldDropTornRecordAtTheEnd() throws IOException {
+        Path segment = directory.resolve("details.segment");
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            store.put("MealDb:1", bytes("complete"), storedAt);
+        }
+        long complete = Files.size(segment);
+        Files.write(segment, new byte[]{0x52, 0x44, 0x43, 0x31, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (DetailSegmentStore store = new DetailSegmentStore(segment, 100)) {
+            assertEquals("complete", new String(store.get("MealDb:1").value(), StandardCharsets.UTF_8));
+            assertEquals(complete, store.sizeBytes());
+            assertEquals(complete, Files.size(segment));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
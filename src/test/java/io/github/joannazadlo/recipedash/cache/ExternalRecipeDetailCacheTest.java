@@ -0,0 +1,156 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.config.properties.DetailCacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyRecipeNotFoundException;
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalIngredientDto;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalRecipeDetailCacheTest {
+
+    @TempDir
+    private Path directory;
+
+    private DetailCacheProperties properties;
+    private ExternalRecipeDetailCache cache;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new DetailCacheProperties();
+        properties.setDirectory(directory.toString());
+        cache = newCache();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Test
+    void get_shouldServeDetailsFromDisk_afterRestart() throws IOException {
+        assertEquals("Paella", cache.get("MealDb", "7", () -> details("Paella")).getTitle());
+        cache.close();
+
+        cache = newCache();
+        ExternalRecipeDetailsDto cached = cache.get("MealDb", "7", () -> details("Paella"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(details("Paella"), cached);
+    }
+
+    @Test
+    void get_shouldServeStoredCopyAndRevalidate_onceTtlHasPassed() {
+        properties.setTtl(Duration.ZERO);
+        cache.get("Tasty", "1", () -> details("Soup"));
+
+        ExternalRecipeDetailsDto served = cache.get("Tasty", "1", () -> details("Better soup"));
+
+        assertEquals("Soup", served.getTitle());
+        assertEquals(2, upstreamCalls.get());
+        properties.setTtl(Duration.ofDays(1));
+        assertEquals("Better soup", cache.get("Tasty", "1", () -> details("Ignored")).getTitle());
+    }
+
+    @Test
+    void get_shouldDropEntry_whenUpstreamNoLongerHasTheRecipe() {
+        properties.setTtl(Duration.ZERO);
+        properties.setExpireAfter(Duration.ZERO);
+        cache.get("Tasty", "1", () -> details("Soup"));
+
+        assertThrows(TastyRecipeNotFoundException.class, () -> cache.get("Tasty", "1", () -> {
+            throw new TastyRecipeNotFoundException("Recipe with id 1 not found");
+        }));
+
+        properties.setExpireAfter(Duration.ofDays(1));
+        assertEquals("Soup again", cache.get("Tasty", "1", () -> details("Soup again")).getTitle());
+    }
+
+    @Test
+    void get_shouldTakeDetailsLoadedByOtherNode_fromSharedTier(@TempDir Path otherDirectory) throws IOException {
+        InMemoryL2CacheStore sharedStore = new InMemoryL2CacheStore();
+        cache.close();
+        cache = newCache(properties, Optional.of(sharedStore));
+        ExternalRecipeDetailCache other = newCache(otherProperties(otherDirectory), Optional.of(sharedStore));
+
+        try {
+            cache.get("MealDb", "7", () -> details("Paella"));
+            ExternalRecipeDetailsDto fromOtherNode = other.get("MealDb", "7", () -> details("Paella"));
+
+            assertEquals(1, upstreamCalls.get());
+            assertEquals("Paella", fromOtherNode.getTitle());
+            assertTrue(other.isFresh("MealDb", "7"));
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void get_shouldDropCopiesOnOtherNodes_whenUpstreamNoLongerHasTheRecipe(@TempDir Path otherDirectory) throws IOException {
+        InMemoryL2CacheStore sharedStore = new InMemoryL2CacheStore();
+        cache.close();
+        cache = newCache(properties, Optional.of(sharedStore));
+        ExternalRecipeDetailCache other = newCache(otherProperties(otherDirectory), Optional.of(sharedStore));
+
+        try {
+            other.get("Tasty", "1", () -> details("Soup"));
+            // the shared copy has expired by the time this node looks the recipe up
+            sharedStore.delete("recipedash:detail:Tasty:1");
+
+            assertThrows(TastyRecipeNotFoundException.class, () -> cache.get("Tasty", "1", () -> {
+                throw new TastyRecipeNotFoundException("Recipe with id 1 not found");
+            }));
+
+            assertFalse(other.isFresh("Tasty", "1"));
+        } finally {
+            other.close();
+        }
+    }
+
+    private static DetailCacheProperties otherProperties(Path directory) {
+        DetailCacheProperties otherProperties = new DetailCacheProperties();
+        otherProperties.setDirectory(directory.toString());
+        return otherProperties;
+    }
+
+    private ExternalRecipeDetailCache newCache() {
+        return newCache(properties, Optional.empty());
+    }
+
+    private ExternalRecipeDetailCache newCache(DetailCacheProperties settings, Optional<L2CacheStore> sharedStore) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExternalRecipeDetailCache detailCache = new ExternalRecipeDetailCache(settings, new ObjectMapper(),
+                new SharedCacheTier(sharedStore, new L2CacheProperties(), meterRegistry), Runnable::run, meterRegistry);
+        detailCache.open();
+        return detailCache;
+    }
+
+    private ExternalRecipeDetailsDto details(String title) {
+        upstreamCalls.incrementAndGet();
+        return ExternalRecipeDetailsDto.builder()
+                .id("7")
+                .title(title)
+                .ingredients(List.of(new ExternalIngredientDto("rice", "200g")))
+                .steps(List.of("Cook the rice."))
+                .cuisine(CuisineType.EUROPEAN)
+                .dietaryPreferences(List.of())
+                .build();
+    }
+}
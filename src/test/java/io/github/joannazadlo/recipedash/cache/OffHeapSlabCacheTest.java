@@ -0,0 +1,98 @@
+package io.github.joannazadlo.recipedash.cache;
+
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapSlabCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_shouldDecodeCopyOfStoredValue() {
+        OffHeapSlabCache<String, List<SearchRecipeDto>> cache = cache(4096, 1024, Duration.ofMinutes(1));
+        List<SearchRecipeDto> recipes = List.of(
+                new SearchRecipeDto("52772", "Teriyaki Chicken Casserole", "https://img/1.jpg", "MealDb"),
+                new SearchRecipeDto("8287", "Zupa pomidorowa", null, "Tasty"));
+
+        cache.put("tomato", recipes);
+        List<SearchRecipeDto> cached = cache.get("tomato");
+
+        assertEquals(recipes, cached);
+        assertNotSame(cached.get(0), cache.get("tomato").get(0));
+        assertNull(cache.get("basil"));
+        assertEquals(1.0, meterRegistry.get("offheap.cache").tag("outcome", "miss").counter().count());
+    }
+
+    @Test
+    void put_shouldRecycleOldestSlab_onceBudgetIsUsed() {
+        OffHeapSlabCache<String, List<SearchRecipeDto>> cache = cache(2048, 1024, Duration.ofMinutes(1));
+        int entrySize = new SearchRecipeListCodec().encode(page(0)).length;
+        int perSlab = 1024 / entrySize;
+
+        IntStream.range(0, 2 * perSlab + 1).forEach(i -> cache.put("key" + i, page(i)));
+
+        assertNull(cache.get("key0"));
+        assertEquals(page(2 * perSlab), cache.get("key" + 2 * perSlab));
+        assertEquals(perSlab + 1, cache.size());
+        assertEquals(2048, cache.allocatedBytes());
+        assertEquals((long) (perSlab + 1) * entrySize, cache.liveBytes());
+    }
+
+    @Test
+    void put_shouldKeepEntryWrittenAgain_whenItsOldSlabIsRecycled() {
+        OffHeapSlabCache<String, List<SearchRecipeDto>> cache = cache(2048, 1024, Duration.ofMinutes(1));
+        int perSlab = 1024 / new SearchRecipeListCodec().encode(page(0)).length;
+
+        cache.put("hot", page(999));
+        IntStream.range(1, perSlab + 1).forEach(i -> cache.put("key" + i, page(i)));
+        cache.put("hot", page(999));
+        IntStream.range(perSlab + 1, 2 * perSlab).forEach(i -> cache.put("key" + i, page(i)));
+
+        assertEquals(page(999), cache.get("hot"));
+        assertNull(cache.get("key1"));
+    }
+
+    @Test
+    void put_shouldNotCacheValueLargerThanSlab() {
+        OffHeapSlabCache<String, List<SearchRecipeDto>> cache = cache(2048, 64, Duration.ofMinutes(1));
+
+        cache.put("big", List.of(new SearchRecipeDto("1", "x".repeat(100), null, "Tasty")));
+
+        assertNull(cache.get("big"));
+        assertEquals(0, cache.allocatedBytes());
+    }
+
+    @Test
+    void get_shouldMissExpiredEntry_andRemoveIfShouldDropMatchingKeys() {
+        OffHeapSlabCache<String, List<SearchRecipeDto>> expiring = cache(2048, 1024, Duration.ZERO);
+        expiring.put("tomato", page(1));
+        assertNull(expiring.get("tomato"));
+        assertFalse(expiring.containsKey("tomato"));
+
+        OffHeapSlabCache<String, List<SearchRecipeDto>> cache = cache(2048, 1024, Duration.ofMinutes(1));
+        cache.put("User|tomato", page(1));
+        cache.put("MealDb|tomato", page(2));
+        cache.removeIf(key -> key.startsWith("User|"));
+
+        assertFalse(cache.containsKey("User|tomato"));
+        assertTrue(cache.containsKey("MealDb|tomato"));
+        assertEquals(1, cache.size());
+    }
+
+    private OffHeapSlabCache<String, List<SearchRecipeDto>> cache(long budget, int slabSize, Duration ttl) {
+        return new OffHeapSlabCache<>("test", new SearchRecipeListCodec(), budget, slabSize, ttl, meterRegistry);
+    }
+
+    // Ids of equal width, so every page encodes to the same number of bytes.
+    private static List<SearchRecipeDto> page(int number) {
+        String id = String.format("%03d", number);
+        return List.of(new SearchRecipeDto(id, "Recipe " + id, "https://img/" + id + ".jpg", "MealDb"));
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MealDbCatalogIndexTest {
+
+    private final MealDbSummary curry = MealDbSummary.builder().idMeal("3").strMeal("Curry").build();
+    private final MealDbSummary paella = MealDbSummary.builder().idMeal("7").strMeal("Paella").build();
+    private final MealDbSummary tagine = MealDbSummary.builder().idMeal("9").strMeal("Tagine").build();
+
+    private MealDbCatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Instant now = Instant.now();
+        index = MealDbCatalogIndex.builder()
+                .name(MealDbFilterType.INGREDIENT, "Chicken Breast")
+                .name(MealDbFilterType.INGREDIENT, "Saffron")
+                .name(MealDbFilterType.AREA, "Spanish")
+                .name(MealDbFilterType.AREA, "Moroccan")
+                .name(MealDbFilterType.CATEGORY, "Seafood")
+                .posting(MealDbFilterType.INGREDIENT, "Chicken Breast", List.of(tagine, curry, paella), now)
+                .posting(MealDbFilterType.INGREDIENT, "Saffron", List.of(paella, tagine), now)
+                .posting(MealDbFilterType.AREA, "Spanish", List.of(paella), now)
+                .posting(MealDbFilterType.AREA, "Moroccan", List.of(tagine), now)
+                .build(now);
+    }
+
+    @Test
+    void search_shouldIntersectPostingLists() {
+        Optional<Set<MealDbSummary>> result = index.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("chicken_breast")),
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron"))));
+
+        assertEquals(Optional.of(Set.of(paella, tagine)), result);
+    }
+
+    @Test
+    void search_shouldUnionValuesOfOneTerm() {
+        Optional<Set<MealDbSummary>> result = index.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.AREA, List.of("Spanish", "Moroccan", "Polish")),
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("chicken breast"))));
+
+        assertEquals(Optional.of(Set.of(paella, tagine)), result);
+    }
+
+    @Test
+    void search_shouldReturnNoMeals_whenValueIsNotListedByMealDb() {
+        Optional<Set<MealDbSummary>> result = index.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("dragonfruit"))));
+
+        assertEquals(Optional.of(Set.of()), result);
+    }
+
+    @Test
+    void search_shouldReturnEmpty_whenListedValueHasNotBeenSynced() {
+        Optional<Set<MealDbSummary>> result = index.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.CATEGORY, List.of("Seafood"))));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void search_shouldReturnEmpty_beforeFirstSync() {
+        assertTrue(MealDbCatalogIndex.EMPTY.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron")))).isEmpty());
+    }
+}
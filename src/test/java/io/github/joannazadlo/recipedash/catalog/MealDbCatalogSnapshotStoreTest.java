@@ -0,0 +1,99 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MealDbCatalogSnapshotStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private MealDbProperties properties;
+    private Path snapshot;
+
+    private final MealDbSummary paella = MealDbSummary.builder().idMeal("7").strMeal("Paella").strMealThumb("url7").build();
+    private final MealDbFilterTerm saffron = new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron"));
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("catalog.snapshot");
+        properties = new MealDbProperties();
+        properties.getCatalog().setSnapshotPath(snapshot.toString());
+    }
+
+    @Test
+    void loadOnStartup_shouldServeMappedSnapshotWrittenByAnotherNode() {
+        newStore(new MealDbCatalog(new SimpleMeterRegistry())).publish(index(Instant.parse("2025-01-01T00:00:00Z")));
+
+        MealDbCatalog catalog = new MealDbCatalog(new SimpleMeterRegistry());
+        newStore(catalog).loadOnStartup();
+
+        assertEquals(Optional.of(Set.of(paella)), catalog.search(List.of(saffron)));
+        assertEquals("Paella", catalog.current().getMeal(7).getStrMeal());
+    }
+
+    @Test
+    void reloadIfNewer_shouldSwapInNewerSnapshotOnly() {
+        MealDbCatalog catalog = new MealDbCatalog(new SimpleMeterRegistry());
+        MealDbCatalogSnapshotStore store = newStore(catalog);
+        store.publish(index(Instant.parse("2025-01-02T00:00:00Z")));
+
+        newStore(new MealDbCatalog(new SimpleMeterRegistry())).publish(index(Instant.parse("2025-01-01T00:00:00Z")));
+        store.reloadIfNewer();
+        assertEquals(Instant.parse("2025-01-02T00:00:00Z"), catalog.current().getSyncedAt());
+
+        newStore(new MealDbCatalog(new SimpleMeterRegistry())).publish(index(Instant.parse("2025-01-03T00:00:00Z")));
+        store.reloadIfNewer();
+        assertEquals(Instant.parse("2025-01-03T00:00:00Z"), catalog.current().getSyncedAt());
+    }
+
+    @Test
+    void loadOnStartup_shouldIgnoreSnapshotWithBadChecksum() throws IOException {
+        newStore(new MealDbCatalog(new SimpleMeterRegistry())).publish(index(Instant.parse("2025-01-01T00:00:00Z")));
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+
+        MealDbCatalog catalog = new MealDbCatalog(new SimpleMeterRegistry());
+        newStore(catalog).loadOnStartup();
+
+        assertTrue(catalog.current().isEmpty());
+    }
+
+    @Test
+    void wrap_shouldRejectUnsupportedFormatVersion() {
+        ByteBuffer buffer = ByteBuffer.allocate(MealDbCatalogIndex.HEADER_SIZE);
+        buffer.putInt(0, MealDbCatalogIndex.MAGIC).putInt(4, MealDbCatalogIndex.FORMAT_VERSION + 1);
+
+        assertThrows(IllegalStateException.class, () -> MealDbCatalogIndex.wrap(buffer));
+    }
+
+    private MealDbCatalogSnapshotStore newStore(MealDbCatalog catalog) {
+        return new MealDbCatalogSnapshotStore(catalog, properties, new ThreadPoolTaskScheduler());
+    }
+
+    private MealDbCatalogIndex index(Instant syncedAt) {
+        return MealDbCatalogIndex.builder()
+                .name(MealDbFilterType.INGREDIENT, "Saffron")
+                .posting(MealDbFilterType.INGREDIENT, "Saffron", List.of(paella), syncedAt)
+                .build(syncedAt);
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.joannazadlo.recipedash.client.MealDbClient;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the sync against a local stub of the MealDB list and filter endpoints.
+public class MealDbCatalogSyncTest {
+
+    private static final String EMPTY = "{\"meals\":null}";
+
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private MealDbProperties properties;
+    private MealDbCatalog catalog;
+    private MealDbCatalogSync catalogSync;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = exchange.getRequestURI().getPath() + "?" + exchange.getRequestURI().getQuery();
+            requests.add(request);
+            String body = responses.get(request);
+            byte[] bytes = (body != null ? body : EMPTY).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(body != null ? 200 : 500, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        responses.put("/list.php?i=list", "{\"meals\":[{\"idIngredient\":\"1\",\"strIngredient\":\"Chicken\"},"
+                + "{\"idIngredient\":\"2\",\"strIngredient\":\"Saffron\"}]}");
+        responses.put("/list.php?a=list", "{\"meals\":[{\"strArea\":\"Spanish\"}]}");
+        responses.put("/list.php?c=list", "{\"meals\":[{\"strCategory\":\"Seafood\"}]}");
+        responses.put("/filter.php?i=Chicken", meals("3", "7"));
+        responses.put("/filter.php?i=Saffron", meals("7"));
+        responses.put("/filter.php?a=Spanish", meals("7"));
+        responses.put("/filter.php?c=Seafood", meals("8"));
+
+        properties = new MealDbProperties();
+        properties.getCatalog().setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.getCatalog().setRefreshAfter(Duration.ofDays(1));
+
+        catalog = new MealDbCatalog(new SimpleMeterRegistry());
+        MealDbClient mealDbClient = new MealDbClient(new RestTemplate(), properties, Runnable::run,
+                new UpstreamGuard(CircuitBreaker.ofDefaults("mealdb"), Bulkhead.ofDefaults("mealdb")), Runnable::run, new SimpleMeterRegistry());
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        MealDbCatalogSnapshotStore snapshotStore = new MealDbCatalogSnapshotStore(catalog, properties, scheduler);
+        catalogSync = new MealDbCatalogSync(mealDbClient, catalog, snapshotStore, properties, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sync_shouldBuildIndexFromListsAndFilterLists() {
+        catalogSync.sync();
+
+        Optional<Set<MealDbSummary>> result = catalog.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("chicken")),
+                new MealDbFilterTerm(MealDbFilterType.AREA, List.of("Spanish"))));
+
+        assertTrue(result.isPresent());
+        assertEquals(Set.of("7"), ids(result.get()));
+        assertEquals(3, catalog.current().mealCount());
+    }
+
+    @Test
+    void sync_shouldOnlyFetchNewValues_whenExistingListsAreFresh() {
+        catalogSync.sync();
+        requests.clear();
+
+        responses.put("/list.php?i=list", "{\"meals\":[{\"strIngredient\":\"Chicken\"},"
+                + "{\"strIngredient\":\"Saffron\"},{\"strIngredient\":\"Rice\"}]}");
+        responses.put("/filter.php?i=Rice", meals("3", "8"));
+
+        catalogSync.sync();
+
+        assertEquals(List.of("/list.php?i=list", "/list.php?a=list", "/list.php?c=list", "/filter.php?i=Rice"), requests);
+        assertEquals(Set.of("3", "8"), ids(catalog.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("rice")))).orElseThrow()));
+        assertEquals(Set.of("7"), ids(catalog.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron")))).orElseThrow()));
+    }
+
+    @Test
+    void sync_shouldRefreshStaleLists_andKeepOldPosting_whenRefreshFails() {
+        catalogSync.sync();
+        properties.getCatalog().setRefreshAfter(Duration.ZERO);
+
+        responses.put("/filter.php?i=Chicken", meals("3", "7", "11"));
+        responses.remove("/filter.php?i=Saffron");
+
+        catalogSync.sync();
+
+        assertEquals(Set.of("3", "7", "11"), ids(catalog.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("chicken")))).orElseThrow()));
+        assertEquals(Set.of("7"), ids(catalog.search(List.of(
+                new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron")))).orElseThrow()));
+    }
+
+    @Test
+    void sync_shouldKeepCurrentIndex_whenListCannotBeFetched() {
+        catalogSync.sync();
+        MealDbCatalogIndex synced = catalog.current();
+
+        responses.remove("/list.php?a=list");
+
+        assertThrows(RuntimeException.class, () -> catalogSync.sync());
+        assertSame(synced, catalog.current());
+    }
+
+    private static String meals(String... ids) {
+        StringBuilder json = new StringBuilder("{\"meals\":[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"idMeal\":\"").append(ids[i]).append("\",\"strMeal\":\"Meal ").append(ids[i]).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static Set<String> ids(Set<MealDbSummary> meals) {
+        return meals.stream().map(MealDbSummary::getIdMeal).collect(Collectors.toSet());
+    }
+}
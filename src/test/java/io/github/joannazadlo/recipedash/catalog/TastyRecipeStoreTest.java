@@ -0,0 +1,125 @@
+package io.github.joannazadlo.recipedash.catalog;
+
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.tasty.Component;
+import io.github.joannazadlo.recipedash.model.tasty.Ingredient;
+import io.github.joannazadlo.recipedash.model.tasty.Instruction;
+import io.github.joannazadlo.recipedash.model.tasty.Section;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyTag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TastyRecipeStoreTest {
+
+    private TastyProperties tastyProperties;
+    private TastyRecipeStore store;
+
+    @BeforeEach
+    void setUp() {
+        tastyProperties = new TastyProperties();
+        tastyProperties.getStore().setMaxRecipes(3);
+        store = new TastyRecipeStore(tastyProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findFresh_shouldReturnRecipeSeenInSearch_byItsPublicId() {
+        TastyRecipeRaw stew = recipe("recipe:8287", List.of("tomato"), tag("african", "cuisine"));
+        store.record(List.of(stew), Instant.now());
+
+        assertEquals(Optional.of(stew), store.findFresh("8287"));
+        assertTrue(store.findFresh("9999").isEmpty());
+    }
+
+    @Test
+    void findFresh_shouldIgnoreRecipe_olderThanFreshFor() {
+        store.record(List.of(recipe("recipe:1", List.of("tomato"))), Instant.now().minus(Duration.ofDays(2)));
+
+        assertTrue(store.findFresh("1").isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void record_shouldSkipStubs_andEvictLeastRecentlySeen() {
+        Instant now = Instant.now();
+        TastyRecipeRaw stub = TastyRecipeRaw.builder().canonical_id("compilation:1840").name("Compilation").build();
+        store.record(List.of(stub, recipe("recipe:1", List.of("rice")), recipe("recipe:2", List.of("rice"))), now.minusSeconds(10));
+        store.record(List.of(recipe("recipe:3", List.of("rice")), recipe("recipe:1", List.of("rice"))), now.minusSeconds(5));
+        store.record(List.of(recipe("recipe:4", List.of("tomato"))), now);
+
+        assertEquals(3, store.size());
+        assertTrue(store.findFresh("2").isEmpty());
+        assertTrue(store.findFresh("1").isPresent());
+        assertTrue(store.answer(AllSourcesSearchCriteriaDto.builder().ingredients(List.of("rice")).build(), 3).isEmpty());
+    }
+
+    @Test
+    void answer_shouldMatchIngredientSubstringsAndTags_mostRecentlySeenFirst() {
+        Instant now = Instant.now();
+        store.record(List.of(
+                recipe("recipe:1", List.of("cherry tomatoes", "basil"), tag("italian", "cuisine"), tag("vegetarian", "dietary")),
+                recipe("recipe:2", List.of("tomato"), tag("african", "cuisine"))), now.minusSeconds(5));
+        store.record(List.of(
+                recipe("recipe:3", List.of("Tomato Paste"), tag("african", "cuisine"), tag("vegan", "dietary"))), now);
+
+        AllSourcesSearchCriteriaDto tomato = AllSourcesSearchCriteriaDto.builder().ingredients(List.of("Tomato")).build();
+        assertEquals(List.of("recipe:3", "recipe:1", "recipe:2"), ids(store.answer(tomato, 3)));
+
+        AllSourcesSearchCriteriaDto africanVegan = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .cuisine(CuisineType.AFRICAN)
+                .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN, DietaryPreferenceType.VEGETARIAN))
+                .build();
+        assertEquals(List.of("recipe:3"), ids(store.answer(africanVegan, 1)));
+    }
+
+    @Test
+    void answer_shouldDeclineSearch_whenTooFewRecipesMatch() {
+        store.record(List.of(recipe("recipe:1", List.of("tomato"))), Instant.now());
+
+        assertTrue(store.answer(AllSourcesSearchCriteriaDto.builder().ingredients(List.of("tomato")).build(), 2).isEmpty());
+    }
+
+    @Test
+    void answer_shouldDeclineSearch_whenDisabled() {
+        tastyProperties.getStore().setAnswerSearches(false);
+        store.record(List.of(recipe("recipe:1", List.of("tomato"))), Instant.now());
+
+        assertTrue(store.answer(AllSourcesSearchCriteriaDto.builder().build(), 1).isEmpty());
+        assertTrue(store.findFresh("1").isPresent());
+    }
+
+    private static TastyRecipeRaw recipe(String canonicalId, List<String> ingredients, TastyTag... tags) {
+        return TastyRecipeRaw.builder()
+                .canonical_id(canonicalId)
+                .name("Recipe " + canonicalId)
+                .instructions(List.of(Instruction.builder().display_text("Cook").build()))
+                .sections(List.of(Section.builder()
+                        .components(ingredients.stream()
+                                .map(name -> Component.builder().ingredient(new Ingredient(name)).build())
+                                .toList())
+                        .build()))
+                .tags(Arrays.asList(tags))
+                .build();
+    }
+
+    private static TastyTag tag(String name, String type) {
+        return new TastyTag(name, type);
+    }
+
+    private static List<String> ids(Optional<List<TastyRecipeRaw>> recipes) {
+        return recipes.orElseThrow().stream().map(TastyRecipeRaw::getCanonical_id).toList();
+    }
+}
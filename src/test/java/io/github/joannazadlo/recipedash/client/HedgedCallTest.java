@@ -0,0 +1,144 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.config.properties.HedgeSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgedCallTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldReturnHedgeResult_whenPrimaryIsSlowerThanPercentile() {
+        HedgedCall<String> hedgedCall = new HedgedCall<>("mealdb.lookup", settings(1.0), executor, meterRegistry);
+        warmUp(hedgedCall);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedgedCall.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(release);
+                return "primary";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, count("fired"));
+        assertEquals(1.0, count("won"));
+    }
+
+    @Test
+    void execute_shouldWaitForPrimary_whenHedgeBudgetIsSpent() {
+        HedgedCall<String> hedgedCall = new HedgedCall<>("mealdb.lookup", settings(0.0), executor, meterRegistry);
+        warmUp(hedgedCall);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedgedCall.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, count("fired"));
+        assertEquals(1.0, count("denied"));
+    }
+
+    @Test
+    void execute_shouldReturnHedgeResult_whenPrimaryFailsAfterHedgeDelay() {
+        HedgedCall<String> hedgedCall = new HedgedCall<>("mealdb.lookup", settings(1.0), executor, meterRegistry);
+        warmUp(hedgedCall);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedgedCall.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(60);
+                throw new ResourceAccessException("primary");
+            }
+            sleep(100);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, count("fired"));
+        assertEquals(1.0, count("won"));
+    }
+
+    @Test
+    void execute_shouldFailWithPrimaryError_whenBothAttemptsFail() {
+        HedgedCall<String> hedgedCall = new HedgedCall<>("mealdb.lookup", settings(1.0), executor, meterRegistry);
+        warmUp(hedgedCall);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class, () -> hedgedCall.execute(() -> {
+            int attempt = attempts.incrementAndGet();
+            sleep(attempt == 1 ? 100 : 0);
+            throw new ResourceAccessException("attempt " + attempt);
+        }));
+
+        assertEquals("attempt 1", exception.getMessage());
+        assertEquals(1.0, count("fired"));
+        assertEquals(0.0, count("won"));
+    }
+
+    private void warmUp(HedgedCall<String> hedgedCall) {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("fast", hedgedCall.execute(() -> "fast"));
+        }
+        assertTrue(hedgedCall.currentHedgeDelayNanos() >= Duration.ofMillis(20).toNanos());
+    }
+
+    private HedgeSettings settings(double budgetRatio) {
+        HedgeSettings settings = new HedgeSettings();
+        settings.setEnabled(true);
+        settings.setBudgetRatio(budgetRatio);
+        settings.setMinSamples(5);
+        settings.setSampleWindow(16);
+        settings.setMinDelay(Duration.ofMillis(20));
+        return settings;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("outbound.hedge").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
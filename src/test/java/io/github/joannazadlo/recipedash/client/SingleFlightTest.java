@@ -0,0 +1,120 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_shouldCollapseConcurrentCallsWithSameKey() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("chicken", () -> {
+                calls.incrementAndGet();
+                callStarted.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(callStarted.await(2, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> singleFlight.execute("chicken", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }));
+            waitForCollapsedCalls(1);
+            release.countDown();
+
+            assertEquals("result", first.get(2, TimeUnit.SECONDS));
+            assertEquals("result", second.get(2, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+            assertEquals(1.0, counter("executed"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldPropagateErrorToAllWaiters() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("chicken", () -> {
+                callStarted.countDown();
+                await(release);
+                throw new IllegalStateException("upstream failed");
+            }));
+            assertTrue(callStarted.await(2, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> singleFlight.execute("chicken", () -> "other"));
+            waitForCollapsedCalls(1);
+            release.countDown();
+
+            Exception firstError = assertThrows(Exception.class, () -> first.get(2, TimeUnit.SECONDS));
+            Exception secondError = assertThrows(Exception.class, () -> second.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, firstError.getCause());
+            assertInstanceOf(IllegalStateException.class, secondError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_shouldRunCallAgain_onceEarlierCallHasFinished() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("chicken", () -> "result" + calls.incrementAndGet());
+        String result = singleFlight.execute("chicken", () -> "result" + calls.incrementAndGet());
+
+        assertEquals("result2", result);
+        assertEquals(0.0, counter("collapsed"));
+    }
+
+    private void waitForCollapsedCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (counter("collapsed") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, counter("collapsed"));
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("outbound.single.flight")
+                .tag("name", "test")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
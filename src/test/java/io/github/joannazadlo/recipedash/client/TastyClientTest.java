@@ -0,0 +1,87 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.catalog.TastyRecipeStore;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TastyClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private TastyProperties tastyProperties;
+    private TastyQuotaManager quotaManager;
+    private TastyClient tastyClient;
+
+    private final TastyRecipeResponse response = new TastyRecipeResponse(1, List.of(
+            TastyRecipeRaw.builder().canonical_id("recipe:1").name("Soup").build()));
+
+    @BeforeEach
+    void setUp() {
+        tastyProperties = new TastyProperties();
+        tastyProperties.getQuota().setMonthlyLimit(100);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        quotaManager = new TastyQuotaManager(tastyProperties, meterRegistry);
+        tastyClient = new TastyClient(restTemplate, "key", quotaManager,
+                new TastyRecipeStore(tastyProperties, meterRegistry), tastyProperties, tastyGuard(), Runnable::run, meterRegistry);
+    }
+
+    @Test
+    void searchRecipes_shouldReuseFreshPageWithoutSpendingQuota() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), eq(TastyRecipeResponse.class)))
+                .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+        tastyClient.searchRecipes("Soup", 0, 20);
+        TastyRecipeResponse cached = tastyClient.searchRecipes("soup", 0, 20);
+
+        assertSame(response, cached);
+        assertEquals(99, quotaManager.monthlyRemaining());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(), eq(TastyRecipeResponse.class));
+    }
+
+    @Test
+    void searchRecipes_shouldServeStalePage_whenQuotaIsExhausted() {
+        tastyProperties.getSearch().setCacheFreshFor(Duration.ZERO);
+        tastyClient = new TastyClient(restTemplate, "key", quotaManager,
+                new TastyRecipeStore(tastyProperties, new SimpleMeterRegistry()), tastyProperties, tastyGuard(), Runnable::run, new SimpleMeterRegistry());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Requests-Remaining", "0");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), eq(TastyRecipeResponse.class)))
+                .thenReturn(new ResponseEntity<>(response, headers, HttpStatus.OK));
+
+        tastyClient.searchRecipes("soup", 0, 20);
+        TastyRecipeResponse stale = tastyClient.searchRecipes("soup", 0, 20);
+
+        assertSame(response, stale);
+        assertThrows(TastyQuotaExceededException.class, () -> tastyClient.searchRecipes("pasta", 0, 20));
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(), eq(TastyRecipeResponse.class));
+    }
+
+    private static UpstreamGuard tastyGuard() {
+        return new UpstreamGuard(CircuitBreaker.ofDefaults("tasty"), Bulkhead.ofDefaults("tasty"));
+    }
+}
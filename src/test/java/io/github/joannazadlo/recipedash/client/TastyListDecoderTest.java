@@ -0,0 +1,113 @@
+package io.github.joannazadlo.recipedash.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.mapper.TastyMapper;
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeRaw;
+import io.github.joannazadlo.recipedash.model.tasty.TastyRecipeResponse;
+import io.github.joannazadlo.recipedash.model.tasty.TastyTag;
+import io.github.joannazadlo.recipedash.utils.TastyUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TastyListDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void decode_shouldKeepSearchAndDetailFields() throws IOException {
+        TastyRecipeResponse response = decode();
+
+        assertEquals(1264, response.getCount());
+        assertEquals(3, response.getResults().size());
+
+        TastyRecipeRaw stew = response.getResults().get(0);
+        assertEquals("recipe:8287", stew.getCanonical_id());
+        assertEquals("West African Peanut Stew", stew.getName());
+        assertEquals("Heat the oil in a large pot over medium heat.", stew.getInstructions().get(0).getDisplay_text());
+        assertEquals(List.of("sweet potato", "tomato", "smooth peanut butter", "onion", "vegetable broth"),
+                stew.getSections().stream()
+                        .flatMap(section -> section.getComponents().stream())
+                        .map(component -> component.getIngredient().getName())
+                        .toList());
+        assertEquals(1, stew.getSections().get(0).getComponents().get(0).getMeasurements().size());
+        assertTrue(stew.getTags().contains(new TastyTag("african", "cuisine")));
+    }
+
+    @Test
+    void decode_shouldKeepRecipeWithoutInstructionsAsStub() throws IOException {
+        TastyRecipeRaw compilation = decode().getResults().get(2);
+
+        assertEquals("compilation:1840", compilation.getCanonical_id());
+        assertNull(compilation.getInstructions());
+        assertNull(compilation.getSections());
+        assertNull(compilation.getTags());
+    }
+
+    @Test
+    void decode_shouldMatchSameRecipesAsFullBinding() throws IOException {
+        TastyRecipeResponse full;
+        try (InputStream payload = payload()) {
+            full = objectMapper.readValue(payload, TastyRecipeResponse.class);
+        }
+        TastyRecipeResponse decoded = decode();
+
+        List<AllSourcesSearchCriteriaDto> criteria = List.of(
+                AllSourcesSearchCriteriaDto.builder().build(),
+                AllSourcesSearchCriteriaDto.builder().ingredients(List.of("Tomato")).build(),
+                AllSourcesSearchCriteriaDto.builder().cuisine(CuisineType.AFRICAN)
+                        .dietaryPreferences(List.of(DietaryPreferenceType.VEGETARIAN)).build(),
+                AllSourcesSearchCriteriaDto.builder().ingredients(List.of("chicken", "garlic")).build());
+
+        for (AllSourcesSearchCriteriaDto criterion : criteria) {
+            assertEquals(matchingIds(full, criterion), matchingIds(decoded, criterion));
+        }
+    }
+
+    @Test
+    void decode_shouldGiveSameDetailsAsFullBinding() throws IOException {
+        TastyRecipeResponse full;
+        try (InputStream payload = payload()) {
+            full = objectMapper.readValue(payload, TastyRecipeResponse.class);
+        }
+        TastyRecipeResponse decoded = decode();
+        TastyMapper tastyMapper = new TastyMapper();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(tastyMapper.mapTastyDetailsToRecipeDetailsDto(full.getResults().get(i)),
+                    tastyMapper.mapTastyDetailsToRecipeDetailsDto(decoded.getResults().get(i)));
+        }
+    }
+
+    private static List<String> matchingIds(TastyRecipeResponse response, AllSourcesSearchCriteriaDto criteria) {
+        List<String> requiredIngredients = TastyUtils.extractRequiredIngredients(criteria);
+        Predicate<TastyRecipeRaw> matches = recipe -> recipe.getInstructions() != null
+                && recipe.getSections() != null
+                && TastyUtils.filterByCuisine(criteria, recipe)
+                && TastyUtils.filterByDietaryPreferences(criteria, recipe)
+                && TastyUtils.filterByIngredients(recipe, requiredIngredients);
+        return response.getResults().stream().filter(matches).map(TastyRecipeRaw::getCanonical_id).toList();
+    }
+
+    private TastyRecipeResponse decode() throws IOException {
+        try (InputStream payload = payload(); JsonParser parser = new JsonFactory().createParser(payload)) {
+            return TastyListDecoder.decode(parser);
+        }
+    }
+
+    private InputStream payload() {
+        return getClass().getResourceAsStream("/tasty/recipes-list.json");
+    }
+}
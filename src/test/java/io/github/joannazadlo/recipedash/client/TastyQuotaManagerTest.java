@@ -0,0 +1,102 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TastyQuotaManagerTest {
+
+    private TastyProperties tastyProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tastyProperties = new TastyProperties();
+        tastyProperties.getQuota().setRequestsPerSecond(1000);
+        tastyProperties.getQuota().setMonthlyLimit(10);
+        tastyProperties.getQuota().setSearchReserveRatio(0.3);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void acquire_shouldKeepMonthlyReserveForDetailLookups() {
+        TastyQuotaManager quotaManager = new TastyQuotaManager(tastyProperties, meterRegistry);
+        quotaManager.syncMonthlyRemaining(10);
+
+        for (int i = 0; i < 7; i++) {
+            quotaManager.acquire(TastyCallPriority.SEARCH);
+        }
+
+        assertThrows(TastyQuotaExceededException.class, () -> quotaManager.acquire(TastyCallPriority.SEARCH));
+        quotaManager.acquire(TastyCallPriority.DETAIL);
+        quotaManager.acquire(TastyCallPriority.DETAIL);
+        quotaManager.acquire(TastyCallPriority.DETAIL);
+        assertThrows(TastyQuotaExceededException.class, () -> quotaManager.acquire(TastyCallPriority.DETAIL));
+
+        assertEquals(0, meterRegistry.get("tasty.quota.monthly.remaining").gauge().value());
+        assertEquals(1, meterRegistry.get("tasty.quota.denied").tag("priority", "search").counter().count());
+        assertEquals(1, meterRegistry.get("tasty.quota.denied").tag("priority", "detail").counter().count());
+    }
+
+    @Test
+    void acquire_shouldLetDetailWaitForRateLimit_butNotSearch() {
+        tastyProperties.getQuota().setRequestsPerSecond(20);
+        tastyProperties.getQuota().setMonthlyLimit(1000);
+        tastyProperties.getQuota().setDetailReservedPerSecond(1);
+        tastyProperties.getQuota().setDetailMaxWait(Duration.ofSeconds(1));
+        TastyQuotaManager quotaManager = new TastyQuotaManager(tastyProperties, meterRegistry);
+        quotaManager.syncMonthlyRemaining(1000);
+
+        int searches = 0;
+        while (searches < 100) {
+            try {
+                quotaManager.acquire(TastyCallPriority.SEARCH);
+                searches++;
+            } catch (TastyQuotaExceededException e) {
+                break;
+            }
+        }
+
+        assertTrue(searches < 20);
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 3; i++) {
+                quotaManager.acquire(TastyCallPriority.DETAIL);
+            }
+        });
+    }
+
+    @Test
+    void syncMonthlyRemaining_shouldFollowUpstreamCount() {
+        TastyQuotaManager quotaManager = new TastyQuotaManager(tastyProperties, meterRegistry);
+
+        quotaManager.syncMonthlyRemaining(2);
+
+        assertEquals(2, quotaManager.monthlyRemaining());
+        assertThrows(TastyQuotaExceededException.class, () -> quotaManager.acquire(TastyCallPriority.SEARCH));
+    }
+
+    @Test
+    void acquire_shouldLetOneCallAtATimeThrough_untilUpstreamReportsRemainingQuota() {
+        TastyQuotaManager quotaManager = new TastyQuotaManager(tastyProperties, meterRegistry);
+
+        quotaManager.acquire(TastyCallPriority.SEARCH);
+        assertThrows(TastyQuotaExceededException.class, () -> quotaManager.acquire(TastyCallPriority.SEARCH));
+
+        quotaManager.callFinished();
+        quotaManager.acquire(TastyCallPriority.SEARCH);
+        quotaManager.syncMonthlyRemaining(9);
+
+        assertDoesNotThrow(() -> {
+            quotaManager.acquire(TastyCallPriority.SEARCH);
+            quotaManager.acquire(TastyCallPriority.SEARCH);
+        });
+        assertEquals(7, quotaManager.monthlyRemaining());
+    }
+}
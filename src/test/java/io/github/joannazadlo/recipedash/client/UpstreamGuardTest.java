@@ -0,0 +1,73 @@
+package io.github.joannazadlo.recipedash.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpstreamGuardTest {
+
+    @Test
+    void call_shouldFailFastWithoutCallingUpstream_onceBreakerHasOpened() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("mealdb", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        UpstreamGuard guard = new UpstreamGuard(circuitBreaker, Bulkhead.ofDefaults("mealdb"));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> guard.call(() -> {
+                upstreamCalls.incrementAndGet();
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+
+        assertTrue(guard.isOpen());
+        assertThrows(CallNotPermittedException.class, () -> guard.call(upstreamCalls::incrementAndGet));
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void call_shouldRejectImmediately_whenBulkheadIsFull() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("tasty", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        UpstreamGuard guard = new UpstreamGuard(CircuitBreaker.ofDefaults("tasty"), bulkhead);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(() -> guard.call(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> guard.call(() -> "rejected"));
+
+        release.countDown();
+        assertEquals("done", inFlight.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.joannazadlo.recipedash.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.joannazadlo.recipedash.config.properties.OutboundHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+    private OutboundHttpProperties properties;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/flaky", exchange -> {
+            int attempt = requests.incrementAndGet();
+            respond(exchange, attempt == 1 ? 503 : 200, "ok");
+        });
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        properties = new OutboundHttpProperties();
+        properties.getDefaults().setMaxRetries(1);
+        properties.getDefaults().setRetryBackoff(Duration.ofMillis(10));
+        properties.getDefaults().setResponseTimeout(Duration.ofMillis(200));
+        properties.getDefaults().setSocketTimeout(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @Test
+    void restTemplate_shouldRetryUnavailableUpstreamAndRecordLatencyPerHost() {
+        RestTemplate restTemplate = restTemplate();
+
+        String body = restTemplate.getForObject(url("/flaky"), String.class);
+
+        assertEquals("ok", body);
+        assertEquals(2, requests.get());
+        assertEquals(1, meterRegistry.get("outbound.requests")
+                .tag("host", "localhost")
+                .tag("status", "200")
+                .timer().count());
+    }
+
+    @Test
+    void restTemplate_shouldGiveUpOnHungUpstreamAfterResponseTimeout() {
+        RestTemplate restTemplate = restTemplate();
+
+        long startedAt = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow"), String.class));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, requests.get());
+        assertEquals(1, meterRegistry.get("outbound.requests").tag("status", "IO_ERROR").timer().count());
+    }
+
+    private RestTemplate restTemplate() {
+        connectionManager = config.outboundConnectionManager(properties);
+        httpClient = config.outboundHttpClient(connectionManager, properties);
+        return config.restTemplate(httpClient, properties, meterRegistry);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.joannazadlo.recipedash.controller;
+
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchDto;
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchReportDto;
+import io.github.joannazadlo.recipedash.service.HotSearchWarmer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminSearchController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false)
+public class AdminSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private HotSearchWarmer hotSearchWarmer;
+
+    @Test
+    void getHotSearches_shouldReturnTopSearchesAndRefreshStatistics() throws Exception {
+        when(hotSearchWarmer.report()).thenReturn(HotSearchReportDto.builder()
+                .topSearches(List.of(HotSearchDto.builder()
+                        .ingredients(List.of("chicken", "rice"))
+                        .cuisine(CuisineType.ASIAN)
+                        .dietaryPreferences(List.of())
+                        .estimatedHits(42)
+                        .build()))
+                .refreshRuns(7)
+                .refreshed(12)
+                .alreadyFresh(30)
+                .build());
+
+        mockMvc.perform(get("/admin/search/hot"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.topSearches[0].ingredients[1]").value("rice"))
+                .andExpect(jsonPath("$.topSearches[0].cuisine").value("Asian"))
+                .andExpect(jsonPath("$.topSearches[0].estimatedHits").value(42))
+                .andExpect(jsonPath("$.refreshRuns").value(7))
+                .andExpect(jsonPath("$.refreshed").value(12));
+    }
+}
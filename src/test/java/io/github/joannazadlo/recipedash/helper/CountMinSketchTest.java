@@ -0,0 +1,49 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountMinSketchTest {
+
+    @Test
+    void estimate_shouldNeverUndercount_andStayCloseForHeavyItems() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (int i = 0; i < 2000; i++) {
+            sketch.add("item-" + (i % 500));
+        }
+        for (int i = 0; i < 300; i++) {
+            sketch.add("chicken|rice");
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketch.estimate("item-" + i) >= 4);
+        }
+        long heavy = sketch.estimate("chicken|rice");
+        assertTrue(heavy >= 300 && heavy < 340, "estimate was " + heavy);
+    }
+
+    @Test
+    void add_shouldReturnTheNewEstimate() {
+        CountMinSketch sketch = new CountMinSketch(64, 3);
+
+        assertEquals(1, sketch.add("tomato"));
+        assertEquals(2, sketch.add("tomato"));
+        assertEquals(0, sketch.estimate("basil"));
+    }
+
+    @Test
+    void halve_shouldAgeEveryCount() {
+        CountMinSketch sketch = new CountMinSketch(64, 3);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("tomato");
+        }
+        sketch.add("basil");
+
+        sketch.halve();
+
+        assertEquals(5, sketch.estimate("tomato"));
+        assertEquals(0, sketch.estimate("basil"));
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.enums.CuisineType;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotSearchTrackerTest {
+
+    @Test
+    void record_shouldCountEquivalentCriteriaTogether() {
+        HotSearchTracker tracker = tracker(5);
+
+        tracker.record(criteria(List.of("Tomato ", "basil"), null));
+        tracker.record(criteria(List.of("BASIL", "tomato"), null));
+        tracker.record(AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("basil", "tomato"))
+                .limit(10)
+                .excludeDisliked(true)
+                .build());
+
+        List<HotSearchTracker.HotSearch> top = tracker.top();
+        assertEquals(1, top.size());
+        assertEquals(3, top.get(0).hits());
+        assertEquals(List.of("basil", "tomato"), top.get(0).criteria().getIngredients());
+        assertNull(top.get(0).criteria().getSource());
+    }
+
+    @Test
+    void record_shouldKeepTheMostRequestedCriteria_whenTopIsFull() {
+        HotSearchTracker tracker = tracker(2);
+
+        repeat(tracker, criteria(List.of("chicken"), null), 5);
+        repeat(tracker, criteria(List.of("tofu"), null), 1);
+        repeat(tracker, criteria(List.of("pasta"), CuisineType.EUROPEAN), 3);
+
+        List<HotSearchTracker.HotSearch> top = tracker.top();
+        assertEquals(2, top.size());
+        assertEquals(List.of("chicken"), top.get(0).criteria().getIngredients());
+        assertEquals(5, top.get(0).hits());
+        assertEquals(CuisineType.EUROPEAN, top.get(1).criteria().getCuisine());
+    }
+
+    @Test
+    void record_shouldIgnoreLaterPagesAndUserOnlySearches() {
+        HotSearchTracker tracker = tracker(5);
+        AllSourcesSearchCriteriaDto nextPage = criteria(List.of("chicken"), null);
+        nextPage.setCursor("abc");
+        AllSourcesSearchCriteriaDto userOnly = criteria(List.of("chicken"), null);
+        userOnly.setSource("user");
+
+        tracker.record(nextPage);
+        tracker.record(userOnly);
+
+        assertTrue(tracker.top().isEmpty());
+    }
+
+    @Test
+    void decay_shouldHalveCountsAndDropSingleHits() {
+        HotSearchTracker tracker = tracker(5);
+        repeat(tracker, criteria(List.of("chicken"), null), 4);
+        repeat(tracker, criteria(List.of("tofu"), null), 1);
+
+        tracker.decay();
+
+        List<HotSearchTracker.HotSearch> top = tracker.top();
+        assertEquals(1, top.size());
+        assertEquals(2, top.get(0).hits());
+    }
+
+    private static HotSearchTracker tracker(int topK) {
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.getHotSearches().setTopK(topK);
+        return new HotSearchTracker(searchProperties);
+    }
+
+    private static void repeat(HotSearchTracker tracker, AllSourcesSearchCriteriaDto criteria, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(criteria);
+        }
+    }
+
+    private static AllSourcesSearchCriteriaDto criteria(List<String> ingredients, CuisineType cuisine) {
+        return AllSourcesSearchCriteriaDto.builder()
+                .ingredients(ingredients)
+                .cuisine(cuisine)
+                .build();
+    }
+}
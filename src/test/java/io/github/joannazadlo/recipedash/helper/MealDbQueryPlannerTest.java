@@ -0,0 +1,80 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetails;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbFilterTerm;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MealDbQueryPlannerTest {
+
+    private MealDbQueryPlanner queryPlanner;
+
+    private final MealDbFilterTerm chicken = new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("chicken"));
+    private final MealDbFilterTerm saffron = new MealDbFilterTerm(MealDbFilterType.INGREDIENT, List.of("saffron"));
+    private final MealDbFilterTerm spanish = new MealDbFilterTerm(MealDbFilterType.AREA, List.of("Spanish", "Portuguese"));
+
+    @BeforeEach
+    void setUp() {
+        queryPlanner = new MealDbQueryPlanner(new MealDbProperties());
+    }
+
+    @Test
+    void order_shouldPutMostSelectiveTermFirst_andUnknownTermsLast() {
+        queryPlanner.recordCardinality(chicken.toUrls().get(0), 40);
+        queryPlanner.recordCardinality(saffron.toUrls().get(0), 3);
+
+        List<MealDbFilterTerm> ordered = queryPlanner.order(List.of(spanish, chicken, saffron));
+
+        assertEquals(List.of(saffron, chicken, spanish), ordered);
+    }
+
+    @Test
+    void estimateCardinality_shouldSumAllValuesOfTerm() {
+        queryPlanner.recordCardinality(spanish.toUrls().get(0), 12);
+        queryPlanner.recordCardinality(spanish.toUrls().get(1), 8);
+
+        assertEquals(20, queryPlanner.estimateCardinality(spanish));
+    }
+
+    @Test
+    void shouldProbeFirst_shouldReturnFalse_whenDrivingTermIsUnknown() {
+        assertFalse(queryPlanner.shouldProbeFirst(List.of(chicken, saffron)));
+
+        queryPlanner.recordCardinality(chicken.toUrls().get(0), 10);
+
+        assertTrue(queryPlanner.shouldProbeFirst(List.of(chicken, saffron)));
+        assertFalse(queryPlanner.shouldProbeFirst(List.of(chicken)));
+    }
+
+    @Test
+    void verifyLocally_shouldFilterCandidatesAgainstCachedMeals() {
+        MealDbSummary paella = MealDbSummary.builder().idMeal("1").strMeal("Paella").build();
+        MealDbSummary risotto = MealDbSummary.builder().idMeal("2").strMeal("Saffron Risotto").build();
+
+        queryPlanner.recordMeal(MealDbDetails.builder()
+                .idMeal("1").strArea("Spanish").ingredients(new String[]{"Chicken", "Saffron"}).build());
+        queryPlanner.recordMeal(MealDbDetails.builder()
+                .idMeal("2").strArea("Italian").ingredients(new String[]{"Rice", "Saffron"}).build());
+
+        Optional<Set<MealDbSummary>> verified = queryPlanner.verifyLocally(List.of(paella, risotto), List.of(chicken, spanish));
+
+        assertTrue(verified.isPresent());
+        assertEquals(Set.of(paella), verified.get());
+    }
+
+    @Test
+    void verifyLocally_shouldReturnEmpty_whenCandidateIsNotCached() {
+        MealDbSummary paella = MealDbSummary.builder().idMeal("1").strMeal("Paella").build();
+
+        assertTrue(queryPlanner.verifyLocally(List.of(paella), List.of(chicken)).isEmpty());
+    }
+}
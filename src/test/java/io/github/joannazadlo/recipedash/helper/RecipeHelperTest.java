@@ -2,15 +2,12 @@ package io.github.joannazadlo.recipedash.helper;
 
 import io.github.joannazadlo.recipedash.mapper.IngredientMapper;
 import io.github.joannazadlo.recipedash.mapper.RecipeMapper;
-import io.github.joannazadlo.recipedash.mapper.UserMapper;
 import io.github.joannazadlo.recipedash.model.enums.CuisineType;
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
 import io.github.joannazadlo.recipedash.model.recipe.RecipeCreateDto;
-import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryWithUserDto;
 import io.github.joannazadlo.recipedash.model.recipe.RecipeUpdateDto;
 import io.github.joannazadlo.recipedash.model.recipeIngredient.RecipeIngredientCreateDto;
 import io.github.joannazadlo.recipedash.model.recipeIngredient.RecipeIngredientUpdateDto;
-import io.github.joannazadlo.recipedash.model.user.UserDto;
 import io.github.joannazadlo.recipedash.repository.entity.Recipe;
 import io.github.joannazadlo.recipedash.repository.entity.RecipeIngredient;
 import io.github.joannazadlo.recipedash.repository.entity.User;
@@ -20,10 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -37,9 +32,6 @@ public class RecipeHelperTest {
     @Mock
     private IngredientMapper ingredientMapper;
 
-    @Mock
-    private UserMapper userMapper;
-
     @InjectMocks
     private RecipeHelper recipeHelper;
 
@@ -100,72 +92,4 @@ public class RecipeHelperTest {
         assertEquals("30 minutes", existing.getCookingTime());
         assertEquals(List.of(DietaryPreferenceType.VEGAN), existing.getDietaryPreferences());
     }
-
-    @Test
-    void recipeMatchesSearchCriteria_shouldMatchCorrectly() {
-        Recipe recipe = Recipe.builder()
-                .ingredients(List.of(
-                        RecipeIngredient.builder().name("Tomato").build(),
-                        RecipeIngredient.builder().name("Onion").build()
-                ))
-                .cuisine(CuisineType.EUROPEAN)
-                .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN))
-                .build();
-
-        Predicate<Recipe> predicate = recipeHelper.recipeMatchesSearchCriteria(
-                List.of("Tomato"), CuisineType.EUROPEAN, List.of(DietaryPreferenceType.VEGAN)
-        );
-
-        assertTrue(predicate.test(recipe));
-    }
-
-    @Test
-    void recipeMatchesSearchCriteria_shouldRejectWrongCuisine() {
-        Recipe recipe = Recipe.builder()
-                .ingredients(List.of(RecipeIngredient.builder().name("Tomato").build()))
-                .cuisine(CuisineType.ASIAN)
-                .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN))
-                .build();
-
-        Predicate<Recipe> predicate = recipeHelper.recipeMatchesSearchCriteria(
-                List.of("Tomato"),
-                CuisineType.MIDDLE_EASTERN,
-                List.of(DietaryPreferenceType.VEGAN)
-        );
-
-        assertFalse(predicate.test(recipe));
-    }
-
-    @Test
-    void filterByPublicStatus_shouldMatchCorrectly() {
-        Recipe publicRecipe = Recipe.builder().publicRecipe(true).build();
-        Recipe privateRecipe = Recipe.builder().publicRecipe(false).build();
-
-        assertTrue(recipeHelper.filterByPublicStatus(null).test(publicRecipe));
-        assertTrue(recipeHelper.filterByPublicStatus(true).test(publicRecipe));
-        assertFalse(recipeHelper.filterByPublicStatus(true).test(privateRecipe));
-    }
-
-    @Test
-    void mapRecipeWithUserDto_shouldMapFieldsProperly() {
-        Recipe recipe = Recipe.builder()
-                .id(123L)
-                .title("Recipe")
-                .imageSource("img.jpg")
-                .createdAt(LocalDateTime.now())
-                .publicRecipe(true)
-                .build();
-
-        User user = User.builder().email("user@example.com").build();
-        UserDto userDto = UserDto.builder().email("user@example.com").build();
-
-        when(userMapper.toDto(user)).thenReturn(userDto);
-
-        RecipeSummaryWithUserDto result = recipeHelper.mapRecipeWithUserDto(recipe, user);
-
-        assertEquals(recipe.getId(), result.getId());
-        assertEquals(recipe.getTitle(), result.getTitle());
-        assertEquals("user@example.com", result.getUserEmail());
-        assertEquals(recipe.getImageSource(), result.getImageSource());
-    }
 }
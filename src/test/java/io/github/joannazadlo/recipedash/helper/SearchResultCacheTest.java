@@ -0,0 +1,149 @@
+package io.github.joannazadlo.recipedash.helper;
+
+import io.github.joannazadlo.recipedash.cache.InMemoryL2CacheStore;
+import io.github.joannazadlo.recipedash.cache.L2CacheStore;
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchResultCacheTest {
+
+    private final SearchResultCache cache = node(Optional.empty());
+
+    @Test
+    void key_shouldIgnoreOrderCaseAndWhitespace() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of(" Tomato", "basil"))
+                .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN, DietaryPreferenceType.GLUTEN_FREE))
+                .excludeDisliked(true)
+                .build();
+        AllSourcesSearchCriteriaDto equivalent = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("BASIL", "tomato "))
+                .dietaryPreferences(List.of(DietaryPreferenceType.GLUTEN_FREE, DietaryPreferenceType.VEGAN))
+                .build();
+
+        assertEquals(SearchResultCache.key(criteria, "MealDb"), SearchResultCache.key(equivalent, "MealDb"));
+        assertNotEquals(SearchResultCache.key(criteria, "MealDb"), SearchResultCache.key(criteria, "Tasty"));
+    }
+
+    @Test
+    void invalidateSource_shouldOnlyDropEntriesOfThatSource() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+        AtomicInteger searches = new AtomicInteger();
+        List<SearchRecipeDto> recipes = List.of(SearchRecipeDto.builder().id("1").build());
+
+        cache.get(SearchResultCache.key(criteria, "User", 0, 51), () -> { searches.incrementAndGet(); return recipes; });
+        cache.get(SearchResultCache.key(criteria, "MealDb"), () -> { searches.incrementAndGet(); return recipes; });
+
+        cache.invalidateSource("User");
+
+        cache.get(SearchResultCache.key(criteria, "User", 0, 51), () -> { searches.incrementAndGet(); return recipes; });
+        cache.get(SearchResultCache.key(criteria, "MealDb"), () -> { searches.incrementAndGet(); return recipes; });
+
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    void get_shouldReuseExternalResultsOfOtherNode_andKeepUserResultsLocal() {
+        InMemoryL2CacheStore sharedStore = new InMemoryL2CacheStore();
+        SearchResultCache first = node(Optional.of(sharedStore));
+        SearchResultCache second = node(Optional.of(sharedStore));
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+        AtomicInteger searches = new AtomicInteger();
+        List<SearchRecipeDto> recipes = List.of(SearchRecipeDto.builder().id("1").source("MealDb").build());
+
+        first.get(SearchResultCache.key(criteria, "MealDb"), () -> { searches.incrementAndGet(); return recipes; });
+        List<SearchRecipeDto> shared = second.get(SearchResultCache.key(criteria, "MealDb"),
+                () -> { searches.incrementAndGet(); return recipes; });
+        first.get(SearchResultCache.key(criteria, "User"), () -> { searches.incrementAndGet(); return recipes; });
+        second.get(SearchResultCache.key(criteria, "User"), () -> { searches.incrementAndGet(); return recipes; });
+
+        assertEquals(recipes, shared);
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    void invalidateSource_shouldDropEntriesOnOtherNodes() {
+        InMemoryL2CacheStore sharedStore = new InMemoryL2CacheStore();
+        SearchResultCache first = node(Optional.of(sharedStore));
+        SearchResultCache second = node(Optional.of(sharedStore));
+        SearchResultCache.Key key = SearchResultCache.key(AllSourcesSearchCriteriaDto.builder().build(), "User", 0, 51);
+        second.get(key, () -> List.of(SearchRecipeDto.builder().id("1").build()));
+
+        first.invalidateSource("User");
+
+        assertFalse(second.contains(key));
+    }
+
+    @Test
+    void refresh_shouldReplaceEntryWhateverItsAge() {
+        SearchResultCache.Key key = SearchResultCache.key(AllSourcesSearchCriteriaDto.builder().build(), "MealDb");
+        cache.get(key, () -> List.of(SearchRecipeDto.builder().id("1").build()));
+
+        cache.refresh(key, () -> List.of(SearchRecipeDto.builder().id("2").build()));
+        List<SearchRecipeDto> cached = cache.get(key, () -> List.of());
+
+        assertEquals("2", cached.get(0).getId());
+        assertFalse(cache.expiresWithin(key, Duration.ofMinutes(1)));
+        assertTrue(cache.expiresWithin(key, Duration.ofHours(1)));
+    }
+
+    @Test
+    void get_shouldNotCacheResultsOfSearchThatOverlappedAnInvalidation() {
+        SearchResultCache.Key key = SearchResultCache.key(AllSourcesSearchCriteriaDto.builder().build(), "User", 0, 51);
+        AtomicInteger searches = new AtomicInteger();
+
+        List<SearchRecipeDto> found = cache.get(key, () -> {
+            searches.incrementAndGet();
+            // a write commits while the search is still reading
+            cache.invalidateSource("User");
+            return List.of(SearchRecipeDto.builder().id("1").build());
+        });
+        cache.get(key, () -> {
+            searches.incrementAndGet();
+            return List.of(SearchRecipeDto.builder().id("2").build());
+        });
+
+        assertEquals("1", found.get(0).getId());
+        assertEquals(2, searches.get());
+        assertEquals("2", cache.get(key, () -> List.of()).get(0).getId());
+    }
+
+    @Test
+    void keyAsString_shouldNotConfuseCriteriaContainingSeparators() {
+        AllSourcesSearchCriteriaDto oneIngredient = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("salt,pepper"))
+                .build();
+        AllSourcesSearchCriteriaDto twoIngredients = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("salt", "pepper"))
+                .build();
+
+        assertNotEquals(SearchResultCache.key(oneIngredient, "Tasty").asString(),
+                SearchResultCache.key(twoIngredients, "Tasty").asString());
+    }
+
+    private static SearchResultCache node(Optional<L2CacheStore> sharedStore) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new SearchResultCache(new SearchProperties(),
+                new SharedCacheTier(sharedStore, new L2CacheProperties(), meterRegistry), meterRegistry);
+    }
+}
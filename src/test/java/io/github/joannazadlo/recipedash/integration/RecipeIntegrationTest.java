@@ -11,12 +11,18 @@ import io.github.joannazadlo.recipedash.repository.RecipeRepository;
 import io.github.joannazadlo.recipedash.repository.entity.Recipe;
 import io.github.joannazadlo.recipedash.repository.entity.RecipeIngredient;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -46,6 +52,9 @@ public class RecipeIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private TransactionTemplate transactionTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void cleanUp() {
         recipeRepository.deleteAll();
@@ -233,6 +242,52 @@ public class RecipeIntegrationTest extends AbstractIntegrationTest {
 
     }
 
+    @Test
+    void listRecipes_shouldReadSummariesInOneStatement() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Recipe recipe = Recipe.builder()
+                    .title("Salad " + i)
+                    .ingredients(List.of(
+                            RecipeIngredient.builder().name("lettuce").quantity("100g").build(),
+                            RecipeIngredient.builder().name("tomato").quantity("50g").build()
+                    ))
+                    .steps(List.of("Chop vegetables", "Mix everything"))
+                    .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN, DietaryPreferenceType.GLUTEN_FREE))
+                    .cuisine(CuisineType.EUROPEAN)
+                    .user(user)
+                    .publicRecipe(i % 2 == 0)
+                    .build();
+            recipe.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe));
+            recipeRepository.save(recipe);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get("/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get("/recipes")
+                        .param("ingredients", "Tomato")
+                        .param("dietaryPreferences", "Vegan")
+                        .param("isPublic", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                SecurityContextHolder.getContext().getAuthentication().getPrincipal(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        statistics.clear();
+        mockMvc.perform(get("/admin/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].userEmail").value("test@test.com"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     private Recipe fetchRecipeWithIngredientsAndStepsAndDietaryPreferences(Long id) {
         return transactionTemplate.execute(status -> {
             Recipe recipe = recipeRepository.findById(id)
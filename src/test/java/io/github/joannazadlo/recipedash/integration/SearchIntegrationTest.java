@@ -23,10 +23,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -160,7 +162,7 @@ public class SearchIntegrationTest extends AbstractIntegrationTest {
                 .imageSource("http://tasty/image.jpg")
                 .build();
 
-        when(tastyService.searchMeals(any())).thenReturn(List.of(tastyRecipe));
+        when(tastyService.searchMeals(any(), anyInt(), any())).thenReturn(List.of(tastyRecipe));
 
         Opinion opinion = Opinion.builder()
                 .user(user)
@@ -291,7 +293,7 @@ public class SearchIntegrationTest extends AbstractIntegrationTest {
                 .publicRecipe(true)
                 .build();
 
-        recipe3.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe1));
+        recipe3.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe3));
 
         Recipe savedRecipe3 = recipeRepository.save(recipe3);
 
@@ -326,4 +328,46 @@ public class SearchIntegrationTest extends AbstractIntegrationTest {
         assertEquals(3, recipeRepository.count(), "There should be 3 recipes in db");
         assertEquals(3, opinionRepository.count(), "There should be 3 opinions in db");
     }
+
+    @Test
+    void searchRecipes_shouldReturnOnlyPublicRecipesMatchingEveryCriterion() throws Exception {
+        Recipe match = saveRecipe("Saffron Risotto", true, CuisineType.EUROPEAN,
+                List.of(DietaryPreferenceType.VEGETARIAN, DietaryPreferenceType.GLUTEN_FREE), "Saffron ", "rice");
+        saveRecipe("Private Risotto", false, CuisineType.EUROPEAN,
+                List.of(DietaryPreferenceType.VEGETARIAN, DietaryPreferenceType.GLUTEN_FREE), "saffron", "rice");
+        saveRecipe("Saffron Buns", true, CuisineType.EUROPEAN,
+                List.of(DietaryPreferenceType.VEGETARIAN), "saffron", "flour");
+        saveRecipe("Saffron Curry", true, CuisineType.ASIAN,
+                List.of(DietaryPreferenceType.VEGETARIAN, DietaryPreferenceType.GLUTEN_FREE), "saffron", "rice");
+        saveRecipe("Plain Risotto", true, CuisineType.EUROPEAN,
+                List.of(DietaryPreferenceType.VEGETARIAN, DietaryPreferenceType.GLUTEN_FREE), "rice");
+
+        mockMvc.perform(get("/recipes/search")
+                        .param("ingredients", "SAFFRON", "rice")
+                        .param("cuisine", "European")
+                        .param("dietaryPreferences", "Gluten-Free")
+                        .param("source", "User")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(match.getId().toString()))
+                .andExpect(jsonPath("$[0].title").value("Saffron Risotto"));
+    }
+
+    private Recipe saveRecipe(String title, boolean publicRecipe, CuisineType cuisine,
+                              List<DietaryPreferenceType> dietaryPreferences, String... ingredients) {
+        Recipe recipe = Recipe.builder()
+                .title(title)
+                .ingredients(new ArrayList<>())
+                .steps(List.of("Cook"))
+                .dietaryPreferences(dietaryPreferences)
+                .cuisine(cuisine)
+                .user(user)
+                .publicRecipe(publicRecipe)
+                .build();
+        for (String ingredient : ingredients) {
+            recipe.getIngredients().add(RecipeIngredient.builder().name(ingredient).quantity("1").recipe(recipe).build());
+        }
+        return recipeRepository.save(recipe);
+    }
 }
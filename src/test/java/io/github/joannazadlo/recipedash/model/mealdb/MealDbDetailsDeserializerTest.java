@@ -0,0 +1,65 @@
+package io.github.joannazadlo.recipedash.model.mealdb;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.mapper.MealDbMapper;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalIngredientDto;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MealDbDetailsDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void deserialize_shouldKeepOnlyUsedIngredientSlots() throws IOException {
+        MealDbDetails details = lookup().getMeals().get(0);
+
+        assertEquals("52772", details.getIdMeal());
+        assertEquals("Teriyaki Chicken Casserole", details.getStrMeal());
+        assertEquals("Japanese", details.getStrArea());
+        assertEquals(9, details.getIngredients().length);
+        assertEquals(9, details.getMeasures().length);
+        assertEquals("soy sauce", details.getIngredients()[0]);
+        assertEquals("3/4 cup", details.getMeasures()[0]);
+        assertEquals("brown rice", details.getIngredients()[8]);
+    }
+
+    @Test
+    void deserialize_shouldPairIngredientsWithTheirOwnSlotMeasures() throws IOException {
+        String json = "{\"strMeasure3\":\" 2 cups \",\"strIngredient1\":\" Rice \",\"strIngredient2\":\"  \","
+                + "\"strIngredient3\":\"Water\",\"strMeasure1\":null,\"strIngredient21\":\"Salt\","
+                + "\"strTags\":[\"ignored\"],\"idMeal\":\"1\"}";
+
+        MealDbDetails details = objectMapper.readValue(json, MealDbDetails.class);
+
+        assertEquals("1", details.getIdMeal());
+        assertArrayEquals(new String[]{"Rice", "Water"}, details.getIngredients());
+        assertArrayEquals(new String[]{"", "2 cups"}, details.getMeasures());
+    }
+
+    @Test
+    void mapMealDbDetailsToRecipeDetailsDto_shouldBuildIngredientsAndSteps() throws IOException {
+        ExternalRecipeDetailsDto recipe = new MealDbMapper()
+                .mapMealDbDetailsToRecipeDetailsDto(lookup().getMeals().get(0));
+
+        assertEquals(9, recipe.getIngredients().size());
+        assertEquals(new ExternalIngredientDto("chicken breasts", "2"), recipe.getIngredients().get(6));
+        assertEquals(6, recipe.getSteps().size());
+        assertTrue(recipe.getSteps().get(0).startsWith("Preheat oven"));
+        assertTrue(recipe.getSteps().stream().noneMatch(step -> step.isBlank() || step.endsWith("\r")));
+        assertTrue(recipe.getSteps().get(5).startsWith("Add the cooked vegetables"));
+    }
+
+    private MealDbDetailsResponse lookup() throws IOException {
+        try (InputStream payload = getClass().getResourceAsStream("/mealdb/lookup-52772.json")) {
+            return objectMapper.readValue(payload, MealDbDetailsResponse.class);
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package io.github.joannazadlo.recipedash.service;
 
-import io.github.joannazadlo.recipedash.helper.RecipeHelper;
 import io.github.joannazadlo.recipedash.model.enums.Role;
 import io.github.joannazadlo.recipedash.model.enums.Status;
 import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryWithUserDto;
 import io.github.joannazadlo.recipedash.model.user.UserDto;
 import io.github.joannazadlo.recipedash.repository.RecipeRepository;
-import io.github.joannazadlo.recipedash.repository.entity.Recipe;
 import io.github.joannazadlo.recipedash.repository.entity.User;
 import io.github.joannazadlo.recipedash.utils.SecurityUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -30,9 +28,6 @@ public class AdminRecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
-    @Mock
-    private RecipeHelper recipeHelper;
-
     @InjectMocks
     private AdminRecipeService adminRecipeService;
 
@@ -66,42 +61,26 @@ public class AdminRecipeServiceTest {
     }
 
     @Test
-    void getAllRecipes_shouldReturnMappedRecipes() {
-        Recipe recipe = Recipe.builder()
-                .id(1L)
-                .title("Test Recipe")
-                .imageSource("image.png")
-                .publicRecipe(true)
-                .createdAt(LocalDateTime.now())
-                .user(user)
-                .build();
-
-        List<Recipe> recipes = List.of(recipe);
-        when(recipeRepository.findAllWithUser()).thenReturn(recipes);
-
+    void getAllRecipes_shouldReturnSummariesWithUserEmail() {
         RecipeSummaryWithUserDto summaryDto = RecipeSummaryWithUserDto.builder()
                 .id(1L)
                 .title("Test Recipe")
                 .imageSource("image.png")
                 .publicRecipe(true)
-                .createdAt(recipe.getCreatedAt())
-                .userEmail("test@test.com")
+                .createdAt(LocalDateTime.now())
+                .userEmail(user.getEmail())
                 .build();
 
-        when(recipeHelper.mapRecipeWithUserDto(recipe, user)).thenReturn(summaryDto);
+        when(recipeRepository.findSummariesWithUser(null)).thenReturn(List.of(summaryDto));
 
         List<RecipeSummaryWithUserDto> result = adminRecipeService.getAllRecipes();
 
-        assertEquals(1, result.size());
-
-        RecipeSummaryWithUserDto resultDto = result.get(0);
-
         assertEquals(List.of(summaryDto), result);
     }
 
     @Test
     void getAllRecipes_shouldReturnEmptyListWhenNoRecipes() {
-        when(recipeRepository.findAllWithUser()).thenReturn(List.of());
+        when(recipeRepository.findSummariesWithUser(null)).thenReturn(List.of());
 
         List<RecipeSummaryWithUserDto> result = adminRecipeService.getAllRecipes();
 
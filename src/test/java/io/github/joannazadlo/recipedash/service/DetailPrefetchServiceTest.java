@@ -0,0 +1,90 @@
+package io.github.joannazadlo.recipedash.service;
+
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DetailPrefetchServiceTest {
+
+    @Mock
+    private MealDbService mealDbService;
+
+    @Mock
+    private TastyService tastyService;
+
+    @Mock
+    private ExternalRecipeDetailCache detailCache;
+
+    private SearchProperties searchProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.getPrefetch().setTopN(3);
+        searchProperties.getPrefetch().setMinFreeCalls(1);
+        meterRegistry = new SimpleMeterRegistry();
+        when(detailCache.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void prefetch_shouldLoadTopExternalResultsThatAreNotCached() {
+        when(detailCache.isFresh(anyString(), anyString())).thenReturn(false);
+        when(detailCache.isFresh("MealDb", "3")).thenReturn(true);
+
+        newService(guard("mealdb", 10)).prefetch(List.of(
+                recipe("User", "10"),
+                recipe("MealDb", "1"),
+                recipe("Tasty", "2"),
+                recipe("MealDb", "3"),
+                recipe("MealDb", "4")));
+
+        verify(mealDbService).getRecipeDetailById("1");
+        verify(tastyService).prefetchRecipeDetail("2");
+        verify(mealDbService, never()).getRecipeDetailById("3");
+        verify(mealDbService, never()).getRecipeDetailById("4");
+        verify(tastyService, never()).getRecipeDetailById(anyString());
+    }
+
+    @Test
+    void prefetch_shouldBeCancelled_whenUpstreamHasNoSpareCalls() {
+        when(detailCache.isFresh("MealDb", "1")).thenReturn(false);
+        searchProperties.getPrefetch().setMinFreeCalls(2);
+
+        newService(guard("mealdb", 1)).prefetch(List.of(recipe("MealDb", "1")));
+
+        verifyNoInteractions(mealDbService);
+        assertEquals(1.0, meterRegistry.get("search.prefetch").tag("outcome", "cancelled").counter().count());
+    }
+
+    private DetailPrefetchService newService(UpstreamGuard mealDbGuard) {
+        return new DetailPrefetchService(mealDbService, tastyService, detailCache, searchProperties,
+                mealDbGuard, guard("tasty", 10), Runnable::run, meterRegistry);
+    }
+
+    private static UpstreamGuard guard(String name, int maxConcurrentCalls) {
+        return new UpstreamGuard(CircuitBreaker.ofDefaults(name),
+                Bulkhead.of(name, BulkheadConfig.custom().maxConcurrentCalls(maxConcurrentCalls).build()));
+    }
+
+    private static SearchRecipeDto recipe(String source, String id) {
+        return SearchRecipeDto.builder().id(id).title("Recipe " + id).source(source).build();
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.joannazadlo.recipedash.service;
+
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.helper.HotSearchTracker;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
+import io.github.joannazadlo.recipedash.model.recipe.HotSearchReportDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotSearchWarmerTest {
+
+    @Mock
+    private SearchService searchService;
+
+    private SearchProperties searchProperties;
+    private HotSearchTracker tracker;
+    private SearchResultCache searchResultCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.getHotSearches().setMinHits(2);
+        searchProperties.getHotSearches().setMinFreeCalls(1);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new HotSearchTracker(searchProperties);
+        searchResultCache = new SearchResultCache(searchProperties,
+                new SharedCacheTier(Optional.empty(), new L2CacheProperties(), meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void refresh_shouldReloadHotSearchesThatAreMissingOrAboutToExpire() {
+        AllSourcesSearchCriteriaDto hot = criteria("chicken");
+        record(hot, 3);
+        record(criteria("tofu"), 1);
+        searchResultCache.get(SearchResultCache.key(hot, "Tasty"), () -> List.of(recipe("1")));
+
+        newWarmer(guard("mealdb", 10)).refresh();
+
+        verify(searchService).refreshExternalSource(
+                argThat(criteria -> criteria.getIngredients().equals(List.of("chicken"))), eq("MealDb"));
+        verifyNoMoreInteractions(searchService);
+        assertEquals(1.0, meterRegistry.get("search.hot.refresh").tag("source", "Tasty").tag("outcome", "fresh").counter().count());
+    }
+
+    @Test
+    void refresh_shouldSkipSources_whenUpstreamHasNoSpareCalls() {
+        searchProperties.getHotSearches().setMinFreeCalls(2);
+        AllSourcesSearchCriteriaDto hot = criteria("chicken");
+        hot.setSource("MealDb");
+        record(hot, 3);
+
+        HotSearchWarmer warmer = newWarmer(guard("mealdb", 1));
+        warmer.refresh();
+
+        verifyNoInteractions(searchService);
+        HotSearchReportDto report = warmer.report();
+        assertEquals(1, report.getRefreshRuns());
+        assertEquals(1, report.getThrottled());
+        assertEquals(3, report.getTopSearches().get(0).getEstimatedHits());
+        assertEquals("MealDb", report.getTopSearches().get(0).getSource());
+    }
+
+    private HotSearchWarmer newWarmer(UpstreamGuard mealDbGuard) {
+        return new HotSearchWarmer(tracker, searchService, searchResultCache, searchProperties,
+                mealDbGuard, guard("tasty", 10), new ThreadPoolTaskScheduler(), meterRegistry);
+    }
+
+    private void record(AllSourcesSearchCriteriaDto criteria, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(criteria);
+        }
+    }
+
+    private static AllSourcesSearchCriteriaDto criteria(String ingredient) {
+        return AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of(ingredient))
+                .build();
+    }
+
+    private static UpstreamGuard guard(String name, int maxConcurrentCalls) {
+        return new UpstreamGuard(CircuitBreaker.ofDefaults(name),
+                Bulkhead.of(name, BulkheadConfig.custom().maxConcurrentCalls(maxConcurrentCalls).build()));
+    }
+
+    private static SearchRecipeDto recipe(String id) {
+        return SearchRecipeDto.builder().id(id).title("Recipe " + id).source("Tasty").build();
+    }
+}
@@ -1,21 +1,48 @@
 package io.github.joannazadlo.recipedash.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.catalog.MealDbCatalog;
+import io.github.joannazadlo.recipedash.catalog.MealDbCatalogIndex;
+import io.github.joannazadlo.recipedash.client.MealDbClient;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.DetailCacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.MealDbProperties;
+import io.github.joannazadlo.recipedash.exception.mealDb.MealDbServiceUnavailableException;
+import io.github.joannazadlo.recipedash.helper.MealDbQueryPlanner;
 import io.github.joannazadlo.recipedash.mapper.MealDbMapper;
 import io.github.joannazadlo.recipedash.model.enums.CuisineType;
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.enums.MealDbFilterType;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbDetails;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
 import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummaryResponse;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -28,9 +55,29 @@ public class MealDbServiceTest {
     @Mock
     private MealDbMapper mealDbMapper;
 
-    @InjectMocks
+    private MealDbQueryPlanner queryPlanner;
+
+    private MealDbCatalog catalog;
+
     private MealDbService mealDbService;
 
+    @BeforeEach
+    void setUp() {
+        queryPlanner = new MealDbQueryPlanner(new MealDbProperties());
+        catalog = new MealDbCatalog(new SimpleMeterRegistry());
+        mealDbService = new MealDbService(mealDbClient(Runnable::run), mealDbMapper, queryPlanner, catalog, detailCache(), Runnable::run);
+    }
+
+    private static ExternalRecipeDetailCache detailCache() {
+        return new ExternalRecipeDetailCache(new DetailCacheProperties(), new ObjectMapper(),
+                new SharedCacheTier(Optional.empty(), new L2CacheProperties(), new SimpleMeterRegistry()), Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private MealDbClient mealDbClient(Executor executor) {
+        return new MealDbClient(restTemplate, new MealDbProperties(), executor,
+                new UpstreamGuard(CircuitBreaker.ofDefaults("mealdb"), Bulkhead.ofDefaults("mealdb")), Runnable::run, new SimpleMeterRegistry());
+    }
+
     @Test
     void searchMeals_shouldReturnMappedResults() {
         AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
@@ -211,4 +258,144 @@ public class MealDbServiceTest {
         List<ExternalRecipeSummaryDto> results = mealDbService.searchMeals(criteria);
         assertTrue(results.isEmpty());
     }
+
+    @Test
+    void searchMeals_shouldNotWaitForInFlightCalls_whenAnyIngredientHasNoMeals() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("nonexistent", "chicken"))
+                .cuisine(CuisineType.EUROPEAN)
+                .build();
+
+        when(restTemplate.getForObject(contains("filter.php?i=nonexistent"), eq(MealDbSummaryResponse.class)))
+                .thenReturn(new MealDbSummaryResponse(List.of()));
+
+        lenient().when(restTemplate.getForObject(contains("filter.php?i=chicken"), eq(MealDbSummaryResponse.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5000);
+                    return new MealDbSummaryResponse(List.of());
+                });
+
+        lenient().when(restTemplate.getForObject(contains("filter.php?a="), eq(MealDbSummaryResponse.class)))
+                .thenReturn(new MealDbSummaryResponse(List.of()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            mealDbService = new MealDbService(mealDbClient(executor), mealDbMapper, queryPlanner, catalog, detailCache(), executor);
+
+            List<ExternalRecipeSummaryDto> results = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> mealDbService.searchMeals(criteria));
+
+            assertTrue(results.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchMeals_shouldThrowServiceUnavailable_whenCallQueueIsFull() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato", "chicken"))
+                .build();
+
+        Executor saturated = command -> {
+            throw new RejectedExecutionException("queue is full");
+        };
+        mealDbService = new MealDbService(mealDbClient(Runnable::run), mealDbMapper, queryPlanner, catalog, detailCache(), saturated);
+
+        assertThrows(MealDbServiceUnavailableException.class, () -> mealDbService.searchMeals(criteria));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void searchMeals_shouldSkipRemainingCalls_whenSelectiveTermCanBeVerifiedLocally() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("chicken", "saffron"))
+                .build();
+
+        MealDbSummary paella = MealDbSummary.builder()
+                .idMeal("7")
+                .strMeal("Paella")
+                .strMealThumb("url7")
+                .build();
+
+        queryPlanner.recordCardinality("https://www.themealdb.com/api/json/v1/1/filter.php?i=saffron", 1);
+        queryPlanner.recordMeal(MealDbDetails.builder()
+                .idMeal("7")
+                .strMeal("Paella")
+                .ingredients(new String[]{"Chicken", "Saffron"})
+                .build());
+
+        when(restTemplate.getForObject(contains("filter.php?i=saffron"), eq(MealDbSummaryResponse.class)))
+                .thenReturn(new MealDbSummaryResponse(List.of(paella)));
+
+        when(mealDbMapper.mapMealDbSummaryToRecipeSummaryDto(any(MealDbSummary.class))).thenAnswer(invocation -> {
+            MealDbSummary summary = invocation.getArgument(0);
+            return ExternalRecipeSummaryDto.builder()
+                    .id(summary.getIdMeal())
+                    .title(summary.getStrMeal())
+                    .imageSource(summary.getStrMealThumb())
+                    .build();
+        });
+
+        List<ExternalRecipeSummaryDto> results = mealDbService.searchMeals(criteria);
+
+        assertEquals(1, results.size());
+        assertEquals("7", results.get(0).getId());
+
+        verify(restTemplate, never()).getForObject(contains("filter.php?i=chicken"), eq(MealDbSummaryResponse.class));
+    }
+
+    @Test
+    void searchMeals_shouldServeRepeatedFilterFromCache() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of(" Chicken"))
+                .build();
+
+        MealDbSummary meal = MealDbSummary.builder()
+                .idMeal("1")
+                .strMeal("Chicken with rice")
+                .strMealThumb("url1")
+                .build();
+
+        when(restTemplate.getForObject(contains("filter.php?i=chicken"), eq(MealDbSummaryResponse.class)))
+                .thenReturn(new MealDbSummaryResponse(List.of(meal)));
+
+        when(mealDbMapper.mapMealDbSummaryToRecipeSummaryDto(any(MealDbSummary.class)))
+                .thenReturn(ExternalRecipeSummaryDto.builder().id("1").build());
+
+        mealDbService.searchMeals(criteria);
+        List<ExternalRecipeSummaryDto> results = mealDbService.searchMeals(AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("chicken"))
+                .build());
+
+        assertEquals(1, results.size());
+        verify(restTemplate, times(1)).getForObject(contains("filter.php?i=chicken"), eq(MealDbSummaryResponse.class));
+    }
+
+    @Test
+    void searchMeals_shouldAnswerFromCatalog_whenIndexCoversAllTerms() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("Chicken"))
+                .dietaryPreferences(List.of(DietaryPreferenceType.VEGETARIAN))
+                .build();
+
+        MealDbSummary curry = MealDbSummary.builder().idMeal("3").strMeal("Curry").build();
+        MealDbSummary salad = MealDbSummary.builder().idMeal("5").strMeal("Salad").build();
+
+        catalog.replace(MealDbCatalogIndex.builder()
+                .name(MealDbFilterType.INGREDIENT, "Chicken")
+                .name(MealDbFilterType.CATEGORY, "Vegetarian")
+                .posting(MealDbFilterType.INGREDIENT, "Chicken", List.of(curry, salad), Instant.now())
+                .posting(MealDbFilterType.CATEGORY, "Vegetarian", List.of(salad), Instant.now())
+                .build(Instant.now()));
+
+        when(mealDbMapper.mapMealDbSummaryToRecipeSummaryDto(salad))
+                .thenReturn(ExternalRecipeSummaryDto.builder().id("5").build());
+
+        List<ExternalRecipeSummaryDto> results = mealDbService.searchMeals(criteria);
+
+        assertEquals(1, results.size());
+        assertEquals("5", results.get(0).getId());
+        verifyNoInteractions(restTemplate);
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.joannazadlo.recipedash.service;
 
 import io.github.joannazadlo.recipedash.helper.RecipeHelper;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
 import io.github.joannazadlo.recipedash.mapper.RecipeMapper;
 import io.github.joannazadlo.recipedash.model.enums.Role;
 import io.github.joannazadlo.recipedash.model.enums.Status;
@@ -51,6 +52,9 @@ public class RecipeServiceTest {
     @Mock
     private ImageService imageService;
 
+    @Mock
+    private SearchResultCache searchResultCache;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -86,44 +90,26 @@ public class RecipeServiceTest {
     }
 
     @Test
-    void getRecipesForCurrentUser_shouldReturnMappedRecipes() {
-        Recipe recipe = Recipe.builder()
-                .id(1L)
-                .title("Test Recipe")
-                .imageSource("image.png")
-                .publicRecipe(true)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        List<Recipe> recipes = List.of(recipe);
-        when(recipeRepository.findByUserUid(userDto.getUid())).thenReturn(recipes);
-
+    void getRecipesForCurrentUser_shouldReturnSummariesOfCurrentUser() {
         RecipeSummaryDto summaryDto = RecipeSummaryDto.builder()
                 .id(1L)
                 .title("Test Recipe")
                 .imageSource("image.png")
                 .publicRecipe(true)
-                .createdAt(recipe.getCreatedAt())
+                .createdAt(LocalDateTime.now())
                 .build();
 
-        when(recipeMapper.toSummaryDto(recipe)).thenReturn(summaryDto);
+        when(recipeRepository.findSummaries(any(), eq(0))).thenReturn(List.of(summaryDto));
 
         List<RecipeSummaryDto> result = recipeService.getRecipesForCurrentUser();
 
-        assertEquals(1, result.size());
-
-        RecipeSummaryDto resultDto = result.get(0);
-
-        assertEquals(summaryDto.getId(), resultDto.getId());
-        assertEquals(summaryDto.getTitle(), resultDto.getTitle());
-        assertEquals(summaryDto.getImageSource(), resultDto.getImageSource());
-        assertEquals(summaryDto.isPublicRecipe(), resultDto.isPublicRecipe());
-        assertEquals(summaryDto.getCreatedAt(), resultDto.getCreatedAt());
+        assertEquals(List.of(summaryDto), result);
+        verifyNoInteractions(recipeMapper);
     }
 
     @Test
     void getRecipesForCurrentUser_shouldReturnEmptyListWhenNoRecipes() {
-        when(recipeRepository.findByUserUid(userDto.getUid())).thenReturn(List.of());
+        when(recipeRepository.findSummaries(any(), eq(0))).thenReturn(List.of());
 
         List<RecipeSummaryDto> result = recipeService.getRecipesForCurrentUser();
 
@@ -245,5 +231,36 @@ public class RecipeServiceTest {
         verify(recipeRepository).save(preparedRecipe);
         verify(recipeMapper).toDetailsDto(savedRecipe);
     }
-}
 
+    @Test
+    void deleteRecipe_shouldInvalidateUserSearchResults_whenRecipeIsPublic() {
+        Recipe recipe = Recipe.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .publicRecipe(true)
+                .build();
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+
+        recipeService.deleteRecipe(1L);
+
+        verify(recipeRepository).deleteById(1L);
+        verify(searchResultCache).invalidateSource("User");
+    }
+
+    @Test
+    void deleteRecipe_shouldKeepSearchResults_whenRecipeIsPrivate() {
+        Recipe recipe = Recipe.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .publicRecipe(false)
+                .build();
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+
+        recipeService.deleteRecipe(1L);
+
+        verify(recipeRepository).deleteById(1L);
+        verifyNoInteractions(searchResultCache);
+    }
+}
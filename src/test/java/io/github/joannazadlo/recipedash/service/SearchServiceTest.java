@@ -1,19 +1,48 @@
 package io.github.joannazadlo.recipedash.service;
 
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.client.UpstreamGuard;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.SearchProperties;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.mealDb.MealDbServiceUnavailableException;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.helper.SearchResultCache;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
 import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
 import io.github.joannazadlo.recipedash.model.recipe.RecipeSummaryDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchBatchDto;
 import io.github.joannazadlo.recipedash.model.recipe.SearchRecipeDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchResultDto;
+import io.github.joannazadlo.recipedash.model.recipe.SearchSummaryDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
 import io.github.joannazadlo.recipedash.model.searchCriteria.RecipeSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.SearchCursor;
+import io.github.joannazadlo.recipedash.repository.OpinionRepository;
+import io.github.joannazadlo.recipedash.utils.SearchCursorUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +58,39 @@ public class SearchServiceTest {
     @Mock
     private RecipeService recipeService;
 
-    @InjectMocks
+    @Mock
+    private OpinionRepository opinionRepository;
+
+    @Mock
+    private DetailPrefetchService detailPrefetchService;
+
+    private SearchProperties searchProperties;
+
+    private TastyProperties tastyProperties;
+
+    private UpstreamGuard mealDbGuard;
+
     private SearchService searchService;
 
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        tastyProperties = new TastyProperties();
+        mealDbGuard = new UpstreamGuard(CircuitBreaker.ofDefaults("mealdb"), Bulkhead.ofDefaults("mealdb"));
+        searchService = newSearchService(Runnable::run);
+    }
+
+    private static SharedCacheTier sharedCacheTier() {
+        return new SharedCacheTier(Optional.empty(), new L2CacheProperties(), new SimpleMeterRegistry());
+    }
+
+    private SearchService newSearchService(Executor executor) {
+        return new SearchService(mealDbService, recipeService, tastyService, opinionRepository,
+                new SearchResultCache(searchProperties, sharedCacheTier(), new SimpleMeterRegistry()), detailPrefetchService, searchProperties, tastyProperties,
+                mealDbGuard, new UpstreamGuard(CircuitBreaker.ofDefaults("tasty"), Bulkhead.ofDefaults("tasty")),
+                executor);
+    }
+
     @Test
     void searchRecipes_shouldCallAllSources_WhenSourceIsNull() {
         AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
@@ -61,13 +120,14 @@ public class SearchServiceTest {
                 .imageSource("http://user/image.jpg")
                 .build();
 
-        when(tastyService.searchMeals(criteria)).thenReturn(List.of(tastyRecipe));
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenReturn(List.of(tastyRecipe));
         when(mealDbService.searchMeals(criteria)).thenReturn(List.of(mealDbRecipe));
-        when(recipeService.searchPublicRecipes(userCriteria)).thenReturn(List.of(userRecipe));
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 0L, 101)).thenReturn(List.of(userRecipe));
 
-        List<SearchRecipeDto> recipes = searchService.searchRecipes(criteria);
+        SearchResultDto result = searchService.searchRecipes(criteria);
 
-        assertEquals(3, recipes.size());
+        assertEquals(3, result.getRecipes().size());
+        assertTrue(result.getDegradedSources().isEmpty());
     }
 
     @Test
@@ -83,14 +143,389 @@ public class SearchServiceTest {
                 .imageSource("http://tasty/image.jpg")
                 .build();
 
-        when(tastyService.searchMeals(criteria)).thenReturn(List.of(tastyRecipe));
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenReturn(List.of(tastyRecipe));
 
-        List<SearchRecipeDto> recipes = searchService.searchRecipes(criteria);
+        List<SearchRecipeDto> recipes = searchService.searchRecipes(criteria).getRecipes();
 
         assertEquals(1, recipes.size());
         assertEquals("Tasty", recipes.get(0).getSource());
 
-        verify(tastyService).searchMeals(any());
+        verify(tastyService).searchMeals(any(), eq(50), eq(TastyCallPriority.SEARCH));
         verifyNoInteractions(mealDbService, recipeService);
     }
+
+    @Test
+    void searchRecipes_shouldReturnPartialResult_whenSourceMissesDeadline() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        RecipeSearchCriteriaDto userCriteria = RecipeSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .isPublic(true)
+                .build();
+
+        ExternalRecipeSummaryDto tastyRecipe = ExternalRecipeSummaryDto.builder()
+                .id("1")
+                .title("Tasty meal")
+                .imageSource("http://tasty/image.jpg")
+                .build();
+
+        RecipeSummaryDto userRecipe = RecipeSummaryDto.builder()
+                .id(1L)
+                .title("User recipe")
+                .imageSource("http://user/image.jpg")
+                .build();
+
+        when(mealDbService.searchMeals(criteria)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of();
+        });
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenReturn(List.of(tastyRecipe));
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 0L, 101)).thenReturn(List.of(userRecipe));
+
+        searchProperties.setMealDbTimeout(Duration.ofMillis(100));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            searchService = newSearchService(executor);
+
+            SearchResultDto result = searchService.searchRecipes(criteria);
+
+            assertEquals(List.of("MealDb"), result.getDegradedSources());
+            assertEquals(2, result.getRecipes().size());
+            assertEquals("Tasty", result.getRecipes().get(0).getSource());
+            assertEquals("User", result.getRecipes().get(1).getSource());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchRecipes_shouldMarkTastyDegraded_whenQuotaIsExhausted() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .source("Tasty")
+                .build();
+
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenThrow(new TastyQuotaExceededException("Monthly Tasty quota is exhausted"));
+
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("Tasty"), result.getDegradedSources());
+        assertTrue(result.getRecipes().isEmpty());
+    }
+
+    @Test
+    void streamRecipes_shouldEmitEachSourceAndReportTimedOutSourceInSummary() throws Exception {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        RecipeSearchCriteriaDto userCriteria = RecipeSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .isPublic(true)
+                .build();
+
+        ExternalRecipeSummaryDto tastyRecipe = ExternalRecipeSummaryDto.builder()
+                .id("1")
+                .title("Tasty meal")
+                .imageSource("http://tasty/image.jpg")
+                .build();
+
+        RecipeSummaryDto userRecipe = RecipeSummaryDto.builder()
+                .id(1L)
+                .title("User recipe")
+                .imageSource("http://user/image.jpg")
+                .build();
+
+        when(mealDbService.searchMeals(criteria)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of();
+        });
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenReturn(List.of(tastyRecipe));
+        when(recipeService.searchPublicRecipes(userCriteria)).thenReturn(List.of(userRecipe));
+
+        searchProperties.setMealDbTimeout(Duration.ofMillis(100));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            searchService = newSearchService(executor);
+
+            List<SearchBatchDto> batches = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<SearchSummaryDto> summary = new CompletableFuture<>();
+
+            searchService.streamRecipes(criteria, batches::add, summary::complete);
+
+            SearchSummaryDto result = summary.get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("MealDb"), result.getTimedOutSources());
+            assertTrue(result.getFailedSources().isEmpty());
+            assertEquals(2, result.getTotalRecipes());
+            assertEquals(2, batches.size());
+            assertTrue(batches.stream().anyMatch(batch -> batch.getSource().equals("Tasty")));
+            assertTrue(batches.stream().anyMatch(batch -> batch.getSource().equals("User")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchRecipes_shouldPageThroughSourcesInOrder_whenLimitIsSet() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .source("MealDb")
+                .limit(2)
+                .build();
+
+        List<ExternalRecipeSummaryDto> mealDbRecipes = List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("First").build(),
+                ExternalRecipeSummaryDto.builder().id("2").title("Second").build(),
+                ExternalRecipeSummaryDto.builder().id("3").title("Third").build());
+        when(mealDbService.searchMeals(any())).thenReturn(mealDbRecipes);
+
+        SearchResultDto firstPage = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("1", "2"), firstPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertEquals(SearchCursorUtils.encode(new SearchCursor(2, -1, -1)),
+                firstPage.getNextCursor());
+
+        criteria.setCursor(firstPage.getNextCursor());
+        SearchResultDto secondPage = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("3"), secondPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void searchRecipes_shouldKeepLaterSourcePositions_whenMealDbFillsThePage() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .limit(2)
+                .build();
+
+        when(mealDbService.searchMeals(any())).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("First").build(),
+                ExternalRecipeSummaryDto.builder().id("2").title("Second").build(),
+                ExternalRecipeSummaryDto.builder().id("3").title("Third").build()));
+        when(tastyService.searchMeals(any(), eq(50), eq(TastyCallPriority.SEARCH))).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("4").title("Tasty meal").build()));
+        when(recipeService.searchPublicRecipesAfter(any(), eq(0L), eq(101))).thenReturn(List.of(
+                RecipeSummaryDto.builder().id(5L).title("User recipe").build()));
+
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("1", "2"), result.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertEquals(SearchCursorUtils.encode(new SearchCursor(2, 0, 0)), result.getNextCursor());
+    }
+
+    @Test
+    void searchRecipes_shouldGiveEachSourceItsOwnDeadline_whenSourcesRunConcurrently() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(mealDbService.searchMeals(criteria)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of(ExternalRecipeSummaryDto.builder().id("1").title("MealDb meal").build());
+        });
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of(ExternalRecipeSummaryDto.builder().id("2").title("Tasty meal").build());
+        });
+        when(recipeService.searchPublicRecipesAfter(any(), eq(0L), eq(101))).thenReturn(List.of());
+
+        searchProperties.setMealDbTimeout(Duration.ofMillis(500));
+        searchProperties.setTastyTimeout(Duration.ofMillis(500));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            searchService = newSearchService(executor);
+
+            SearchResultDto result = searchService.searchRecipes(criteria);
+
+            assertTrue(result.getDegradedSources().isEmpty());
+            assertEquals(List.of("1", "2"), result.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchRecipes_shouldAskTastyForMoreMatches_whenPagingPastItsTarget() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .source("Tasty")
+                .limit(2)
+                .build();
+        tastyProperties.getSearch().setTargetMatches(2);
+
+        when(tastyService.searchMeals(any(), eq(2), eq(TastyCallPriority.SEARCH))).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("First").build(),
+                ExternalRecipeSummaryDto.builder().id("2").title("Second").build()));
+        when(tastyService.searchMeals(any(), eq(4), eq(TastyCallPriority.SEARCH))).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("First").build(),
+                ExternalRecipeSummaryDto.builder().id("2").title("Second").build(),
+                ExternalRecipeSummaryDto.builder().id("3").title("Third").build()));
+
+        SearchResultDto firstPage = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("1", "2"), firstPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertEquals(SearchCursorUtils.encode(new SearchCursor(-1, 2, -1)), firstPage.getNextCursor());
+
+        criteria.setCursor(firstPage.getNextCursor());
+        SearchResultDto secondPage = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("3"), secondPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void refreshExternalSource_shouldSearchTastyAtPrefetchPriority() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.PREFETCH)).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("Tasty meal").build()));
+
+        searchService.refreshExternalSource(criteria, "Tasty");
+        SearchResultDto result = searchService.searchRecipes(AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .source("Tasty")
+                .build());
+
+        assertEquals(List.of("1"), result.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        verify(tastyService, never()).searchMeals(any(), anyInt(), eq(TastyCallPriority.SEARCH));
+    }
+
+    @Test
+    void searchRecipes_shouldContinueWithUserRecipesAfterLastReturnedId() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .source("User")
+                .limit(1)
+                .build();
+
+        RecipeSearchCriteriaDto userCriteria = RecipeSearchCriteriaDto.builder()
+                .isPublic(true)
+                .build();
+
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 0L, 101)).thenReturn(List.of(
+                RecipeSummaryDto.builder().id(4L).title("First").build(),
+                RecipeSummaryDto.builder().id(9L).title("Second").build()));
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 4L, 101)).thenReturn(List.of(
+                RecipeSummaryDto.builder().id(9L).title("Second").build()));
+
+        SearchResultDto firstPage = searchService.searchRecipes(criteria);
+        assertEquals(List.of("4"), firstPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+
+        criteria.setCursor(firstPage.getNextCursor());
+        SearchResultDto secondPage = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("9"), secondPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertNull(secondPage.getNextCursor());
+        verifyNoInteractions(mealDbService, tastyService);
+    }
+
+    @Test
+    void searchRecipes_shouldShareOneUserSlice_whenPagesHaveDifferentLimits() {
+        RecipeSearchCriteriaDto userCriteria = RecipeSearchCriteriaDto.builder()
+                .isPublic(true)
+                .build();
+
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 0L, 101)).thenReturn(List.of(
+                RecipeSummaryDto.builder().id(4L).title("First").build(),
+                RecipeSummaryDto.builder().id(9L).title("Second").build(),
+                RecipeSummaryDto.builder().id(12L).title("Third").build()));
+
+        SearchResultDto onePerPage = searchService.searchRecipes(AllSourcesSearchCriteriaDto.builder()
+                .source("User")
+                .limit(1)
+                .build());
+        SearchResultDto twoPerPage = searchService.searchRecipes(AllSourcesSearchCriteriaDto.builder()
+                .source("User")
+                .limit(2)
+                .build());
+
+        assertEquals(List.of("4"), onePerPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertEquals(List.of("4", "9"), twoPerPage.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+        assertEquals(SearchCursorUtils.encode(new SearchCursor(-1, -1, 9)), twoPerPage.getNextCursor());
+        verify(recipeService, times(1)).searchPublicRecipesAfter(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchRecipes_shouldReuseCachedSourceResults_forEquivalentCriteria() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("Tomato", " basil"))
+                .source("MealDb")
+                .build();
+        AllSourcesSearchCriteriaDto equivalentCriteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("basil", "tomato "))
+                .source("MealDb")
+                .build();
+
+        when(mealDbService.searchMeals(criteria)).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("Bruschetta").build()));
+
+        searchService.searchRecipes(criteria);
+        SearchResultDto result = searchService.searchRecipes(equivalentCriteria);
+
+        assertEquals(1, result.getRecipes().size());
+        verify(mealDbService, times(1)).searchMeals(any());
+    }
+
+    @Test
+    void searchRecipes_shouldSkipMealDb_whenItsCircuitBreakerIsOpen() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .source("MealDb")
+                .build();
+
+        mealDbGuard.getCircuitBreaker().transitionToOpenState();
+
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("MealDb"), result.getDegradedSources());
+        assertTrue(result.getRecipes().isEmpty());
+        assertEquals(SearchCursorUtils.encode(new SearchCursor(0, -1, -1)), result.getNextCursor());
+        verifyNoInteractions(mealDbService);
+    }
+
+    @Test
+    void searchRecipes_shouldReturnOtherSources_whenMealDbIsUnavailable() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        RecipeSearchCriteriaDto userCriteria = RecipeSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .isPublic(true)
+                .build();
+
+        when(mealDbService.searchMeals(criteria))
+                .thenThrow(new MealDbServiceUnavailableException("MealDB API is currently unavailable", null));
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH)).thenReturn(List.of());
+        when(recipeService.searchPublicRecipesAfter(userCriteria, 0L, 101)).thenReturn(List.of(
+                RecipeSummaryDto.builder().id(1L).title("User recipe").build()));
+
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("MealDb"), result.getDegradedSources());
+        assertEquals(1, result.getRecipes().size());
+        assertEquals("User", result.getRecipes().get(0).getSource());
+    }
+
+    @Test
+    void searchRecipes_shouldMarkSourceDegraded_whenItFailsUnexpectedly() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(mealDbService.searchMeals(criteria)).thenReturn(List.of(
+                ExternalRecipeSummaryDto.builder().id("1").title("MealDb meal").build()));
+        when(tastyService.searchMeals(criteria, 50, TastyCallPriority.SEARCH))
+                .thenThrow(new IllegalStateException("Unexpected Tasty response"));
+        when(recipeService.searchPublicRecipesAfter(any(), eq(0L), eq(101))).thenReturn(List.of());
+
+        SearchResultDto result = searchService.searchRecipes(criteria);
+
+        assertEquals(List.of("Tasty"), result.getDegradedSources());
+        assertEquals(List.of("1"), result.getRecipes().stream().map(SearchRecipeDto::getId).toList());
+    }
 }
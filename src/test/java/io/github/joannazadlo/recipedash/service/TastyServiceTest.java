@@ -0,0 +1,255 @@
+package io.github.joannazadlo.recipedash.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.joannazadlo.recipedash.cache.ExternalRecipeDetailCache;
+import io.github.joannazadlo.recipedash.cache.SharedCacheTier;
+import io.github.joannazadlo.recipedash.catalog.TastyRecipeStore;
+import io.github.joannazadlo.recipedash.client.TastyClient;
+import io.github.joannazadlo.recipedash.config.properties.DetailCacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.L2CacheProperties;
+import io.github.joannazadlo.recipedash.config.properties.TastyProperties;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyQuotaExceededException;
+import io.github.joannazadlo.recipedash.exception.tasty.TastyServiceUnavailableException;
+import io.github.joannazadlo.recipedash.helper.TastyQueryPlanner;
+import io.github.joannazadlo.recipedash.mapper.TastyMapper;
+import io.github.joannazadlo.recipedash.model.enums.TastyCallPriority;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeDetailsDto;
+import io.github.joannazadlo.recipedash.model.externalRecipe.ExternalRecipeSummaryDto;
+import io.github.joannazadlo.recipedash.model.searchCriteria.AllSourcesSearchCriteriaDto;
+import io.github.joannazadlo.recipedash.model.tasty.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TastyServiceTest {
+
+    @Mock
+    private TastyClient tastyClient;
+
+    @Mock
+    private TastyMapper tastyMapper;
+
+    private TastyProperties tastyProperties;
+    private TastyQueryPlanner queryPlanner;
+    private TastyRecipeStore recipeStore;
+    private TastyService tastyService;
+
+    @BeforeEach
+    void setUp() {
+        tastyProperties = new TastyProperties();
+        tastyProperties.getSearch().setPageSize(2);
+        tastyProperties.getSearch().setPageBudget(3);
+        tastyProperties.getSearch().setTargetMatches(3);
+        queryPlanner = new TastyQueryPlanner(tastyProperties);
+        recipeStore = new TastyRecipeStore(tastyProperties, new SimpleMeterRegistry());
+        tastyService = new TastyService(tastyClient, tastyMapper, queryPlanner, tastyProperties,
+                new ExternalRecipeDetailCache(new DetailCacheProperties(), new ObjectMapper(),
+                        new SharedCacheTier(Optional.empty(), new L2CacheProperties(), new SimpleMeterRegistry()), Runnable::run, new SimpleMeterRegistry()),
+                recipeStore, Runnable::run);
+
+        lenient().when(tastyMapper.mapTastySummaryToExternalRecipeSummaryDto(any(TastyRecipeRaw.class)))
+                .thenAnswer(invocation -> ExternalRecipeSummaryDto.builder()
+                        .id(invocation.<TastyRecipeRaw>getArgument(0).getCanonical_id())
+                        .build());
+    }
+
+    @Test
+    void searchMeals_shouldQueryMostSelectiveKnownTerm() {
+        queryPlanner.recordCount("chicken", 900);
+        queryPlanner.recordCount("saffron", 1);
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("chicken", "saffron"))
+                .build();
+
+        when(tastyClient.searchRecipes("saffron", 0, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(1, List.of(recipe("1", "chicken", "saffron"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertEquals(List.of("1"), ids(results));
+        verify(tastyClient, never()).searchRecipes(eq("chicken"), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void searchMeals_shouldFetchFurtherPages_untilEnoughRecipesMatch() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("1", "tomato"), recipe("2", "rice"))));
+        when(tastyClient.searchRecipes("tomato", 2, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("3", "tomato"), recipe("4", "tomato"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertEquals(List.of("1", "3", "4"), ids(results));
+        assertEquals(100, queryPlanner.knownCount("tomato"));
+        verify(tastyClient, never()).searchRecipes(eq("tomato"), eq(4), anyInt(), any());
+    }
+
+    @Test
+    void searchMeals_shouldFetchUntilRequestedMatches_whenMoreThanTargetAreAskedFor() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("1", "tomato"), recipe("2", "tomato"))));
+        when(tastyClient.searchRecipes("tomato", 2, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("3", "tomato"), recipe("4", "tomato"))));
+        when(tastyClient.searchRecipes("tomato", 4, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("5", "tomato"), recipe("6", "tomato"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria, 5, TastyCallPriority.SEARCH);
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(results));
+    }
+
+    @Test
+    void searchMeals_shouldNotReturnPartialMatches_whenPrefetchRunsOutOfQuota() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.PREFETCH))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("1", "tomato"), recipe("2", "tomato"))));
+        when(tastyClient.searchRecipes(eq("tomato"), intThat(from -> from > 0), eq(2), eq(TastyCallPriority.PREFETCH)))
+                .thenThrow(new TastyQuotaExceededException("Monthly Tasty quota is exhausted"));
+
+        assertThrows(TastyQuotaExceededException.class,
+                () -> tastyService.searchMeals(criteria, 3, TastyCallPriority.PREFETCH));
+    }
+
+    @Test
+    void searchMeals_shouldStayWithinPageBudget_andRequestKnownPagesAtOnce() {
+        queryPlanner.recordCount("tomato", 100);
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato", "basil"))
+                .build();
+
+        when(tastyClient.searchRecipes(eq("tomato"), anyInt(), eq(2), any()))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("1", "tomato"), recipe("2", "tomato"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertTrue(results.isEmpty());
+        verify(tastyClient, times(3)).searchRecipes(eq("tomato"), anyInt(), eq(2), any());
+    }
+
+    @Test
+    void searchMeals_shouldFetchPagesOneAtATime_whenResultCountIsUnknown() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(null, List.of(recipe("1", "tomato"), recipe("2", "tomato"))));
+        when(tastyClient.searchRecipes("tomato", 2, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(null, List.of(recipe("3", "tomato"), recipe("4", "tomato"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertEquals(List.of("1", "2", "3"), ids(results));
+        verify(tastyClient, never()).searchRecipes(eq("tomato"), eq(4), anyInt(), any());
+    }
+
+    @Test
+    void searchMeals_shouldOnlyRequestPagesStillNeeded_whenCountIsKnown() {
+        queryPlanner.recordCount("tomato", 100);
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes(eq("tomato"), anyInt(), eq(2), any()))
+                .thenReturn(new TastyRecipeResponse(100, List.of(recipe("1", "tomato"), recipe("2", "tomato"))));
+
+        tastyService.searchMeals(criteria, 2, TastyCallPriority.SEARCH);
+
+        verify(tastyClient, times(1)).searchRecipes(eq("tomato"), anyInt(), eq(2), any());
+    }
+
+    @Test
+    void searchMeals_shouldStopAtLastPage() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.SEARCH))
+                .thenReturn(new TastyRecipeResponse(null, List.of(recipe("1", "tomato"))));
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertEquals(List.of("1"), ids(results));
+        verify(tastyClient, times(1)).searchRecipes(anyString(), anyInt(), anyInt(), any());
+        assertEquals(1, queryPlanner.knownCount("tomato"));
+    }
+
+    @Test
+    void searchMeals_shouldThrowServiceUnavailable_whenPageFails() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+
+        when(tastyClient.searchRecipes("tomato", 0, 2, TastyCallPriority.SEARCH)).thenThrow(new RuntimeException("timeout"));
+
+        assertThrows(TastyServiceUnavailableException.class, () -> tastyService.searchMeals(criteria));
+    }
+
+    @Test
+    void searchMeals_shouldAnswerLocally_whenEnoughStoredRecipesMatch() {
+        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
+                .ingredients(List.of("tomato"))
+                .build();
+        recipeStore.record(List.of(recipe("recipe:1", "tomato"), recipe("recipe:2", "cherry tomatoes"),
+                recipe("recipe:3", "rice"), recipe("recipe:4", "tomato paste")), Instant.now());
+
+        List<ExternalRecipeSummaryDto> results = tastyService.searchMeals(criteria);
+
+        assertEquals(3, results.size());
+        verifyNoInteractions(tastyClient);
+    }
+
+    @Test
+    void getRecipeDetailById_shouldUseStoredRecipe_withoutCallingTasty() {
+        TastyRecipeRaw stored = recipe("recipe:42", "tomato");
+        recipeStore.record(List.of(stored), Instant.now());
+        ExternalRecipeDetailsDto details = ExternalRecipeDetailsDto.builder().id("42").build();
+        when(tastyMapper.mapTastyDetailsToRecipeDetailsDto(stored)).thenReturn(details);
+
+        assertSame(details, tastyService.getRecipeDetailById("42"));
+        verifyNoInteractions(tastyClient);
+    }
+
+    private static TastyRecipeRaw recipe(String id, String... ingredients) {
+        return TastyRecipeRaw.builder()
+                .canonical_id(id)
+                .name("Recipe " + id)
+                .instructions(List.of(Instruction.builder().display_text("Cook").build()))
+                .sections(List.of(Section.builder()
+                        .components(IntStream.range(0, ingredients.length)
+                                .mapToObj(i -> Component.builder()
+                                        .ingredient(Ingredient.builder().name(ingredients[i]).build())
+                                        .build())
+                                .toList())
+                        .build()))
+                .build();
+    }
+
+    private static List<String> ids(List<ExternalRecipeSummaryDto> results) {
+        return results.stream().map(ExternalRecipeSummaryDto::getId).toList();
+    }
+}
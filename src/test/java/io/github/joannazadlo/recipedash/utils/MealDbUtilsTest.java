@@ -1,10 +1,13 @@
 package io.github.joannazadlo.recipedash.utils;
 
 import io.github.joannazadlo.recipedash.model.enums.DietaryPreferenceType;
+import io.github.joannazadlo.recipedash.model.mealdb.MealDbSummary;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -34,4 +37,35 @@ public class MealDbUtilsTest {
     void hasUnsupportedPreferences_shouldReturnFalse_WhenNoDietaryPreferencesProvided() {
         assertFalse(MealDbUtils.hasUnsupportedPreferences(null));
     }
+
+    @Test
+    void toSortedIds_shouldSortAndRemoveDuplicates() {
+        List<MealDbSummary> meals = List.of(
+                MealDbSummary.builder().idMeal("52772").build(),
+                MealDbSummary.builder().idMeal("52001").build(),
+                MealDbSummary.builder().idMeal("52772").build()
+        );
+
+        assertArrayEquals(new int[]{52001, 52772}, MealDbUtils.toSortedIds(meals));
+    }
+
+    @Test
+    void intersectSortedIds_shouldReturnCommonIds() {
+        assertArrayEquals(new int[]{3, 7}, MealDbUtils.intersectSortedIds(new int[]{1, 3, 5, 7}, new int[]{2, 3, 7, 9}));
+        assertArrayEquals(new int[]{}, MealDbUtils.intersectSortedIds(new int[]{1, 2}, new int[]{3, 4}));
+    }
+
+    @Test
+    void unionSortedIds_shouldMergeWithoutDuplicates() {
+        assertArrayEquals(new int[]{1, 2, 3, 5, 7}, MealDbUtils.unionSortedIds(new int[]{1, 3, 5}, new int[]{2, 3, 7}));
+        assertArrayEquals(new int[]{4}, MealDbUtils.unionSortedIds(new int[]{}, new int[]{4}));
+    }
+
+    @Test
+    void splitLines_shouldTrimLinesAndDropBlankOnes() {
+        assertEquals(List.of("Preheat oven.", "Mix the sauce.", "Bake for 30 minutes."),
+                MealDbUtils.splitLines("  Preheat oven.\r\n\r\nMix the sauce.\n \t\nBake for 30 minutes.\r\n"));
+        assertEquals(List.of(), MealDbUtils.splitLines(""));
+        assertEquals(List.of(), MealDbUtils.splitLines(null));
+    }
 }
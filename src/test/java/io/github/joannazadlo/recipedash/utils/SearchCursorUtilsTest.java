@@ -0,0 +1,37 @@
+package io.github.joannazadlo.recipedash.utils;
+
+import io.github.joannazadlo.recipedash.exception.search.InvalidSearchCursorException;
+import io.github.joannazadlo.recipedash.model.searchCriteria.SearchCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SearchCursorUtilsTest {
+
+    @Test
+    void decode_shouldReturnEncodedPositions() {
+        SearchCursor cursor = new SearchCursor(20, SearchCursor.EXHAUSTED, 154);
+
+        assertEquals(cursor, SearchCursorUtils.decode(SearchCursorUtils.encode(cursor)));
+    }
+
+    @Test
+    void decode_shouldStartFromTheBeginning_WhenCursorIsMissing() {
+        assertEquals(SearchCursor.start(), SearchCursorUtils.decode(null));
+        assertEquals(SearchCursor.start(), SearchCursorUtils.decode(""));
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsMalformed() {
+        String unknownVersion = Base64.getUrlEncoder().encodeToString("v0:1:2:3".getBytes(StandardCharsets.UTF_8));
+        String negativeOffset = Base64.getUrlEncoder().encodeToString("v1:-5:0:0".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidSearchCursorException.class, () -> SearchCursorUtils.decode("not a cursor"));
+        assertThrows(InvalidSearchCursorException.class, () -> SearchCursorUtils.decode(unknownVersion));
+        assertThrows(InvalidSearchCursorException.class, () -> SearchCursorUtils.decode(negativeOffset));
+    }
+}
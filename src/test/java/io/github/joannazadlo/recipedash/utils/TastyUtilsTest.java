@@ -13,36 +13,28 @@ import static org.junit.jupiter.api.Assertions.*;
 public class TastyUtilsTest {
 
     @Test
-    void buildSearchQuery_shouldReturnIngredient_WhenIngredientsExist() {
+    void buildSearchTerms_shouldListAllCriteriaInDefaultOrder() {
         AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
                 .ingredients(List.of("Tomato", "Chicken"))
-                .build();
-
-        String query = TastyUtils.buildSearchQuery(criteria);
-
-        assertEquals("Tomato", query);
-    }
-
-    @Test
-    void buildSearchQuery_shouldReturnCuisine_WhenNoIngredients() {
-        AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
                 .cuisine(CuisineType.AFRICAN)
+                .dietaryPreferences(List.of(DietaryPreferenceType.GLUTEN_FREE))
                 .build();
 
-        String query = TastyUtils.buildSearchQuery(criteria);
+        List<String> terms = TastyUtils.buildSearchTerms(criteria);
 
-        assertEquals("african", query);
+        assertEquals(List.of("Tomato", "Chicken", "african", "gluten_free"), terms);
     }
 
     @Test
-    void buildSearchQuery_shouldReturnDietaryPreferences_WhenNoIngredientsAndCuisine() {
+    void buildSearchTerms_shouldLeaveOutDietaryPreferences_WhenMoreThanOneIsRequested() {
         AllSourcesSearchCriteriaDto criteria = AllSourcesSearchCriteriaDto.builder()
-                .dietaryPreferences(List.of(DietaryPreferenceType.GLUTEN_FREE))
+                .cuisine(CuisineType.AFRICAN)
+                .dietaryPreferences(List.of(DietaryPreferenceType.VEGAN, DietaryPreferenceType.VEGETARIAN))
                 .build();
 
-        String query = TastyUtils.buildSearchQuery(criteria);
+        List<String> terms = TastyUtils.buildSearchTerms(criteria);
 
-        assertEquals("gluten_free", query);
+        assertEquals(List.of("african"), terms);
     }
 
     @Test